@@ -20,6 +20,14 @@ abstract class AbstractParentMojo extends AbstractMojo {
   @Parameter(property = "sortgraphql.createBackupFile", defaultValue = "true")
   protected boolean createBackupFile;
 
+  /**
+   * How the backup files are created: 'copy' copies each schema file, 'hardLink' links the backup
+   * file to the original content without copying it, 'rename' renames each schema file to the
+   * backup file, and 'archive' adds all schema files to one zip archive in the work directory.
+   */
+  @Parameter(property = "sortgraphql.backupStrategy", defaultValue = "copy")
+  protected String backupStrategy;
+
   /** Encoding for the files. */
   @Parameter(property = "sortgraphql.encoding", defaultValue = "UTF-8")
   protected String encoding;
@@ -71,6 +79,70 @@ abstract class AbstractParentMojo extends AbstractMojo {
   @Parameter(property = "sortgraphql.skipFieldArgumentSorting", defaultValue = "false")
   protected boolean skipFieldArgumentSorting;
 
+  /**
+   * Sort the schema files without validating the schema. The schema is sorted directly from the
+   * parsed schema files, which is faster and uses less memory for large schemas, but errors in the
+   * schema are not reported.
+   */
+  @Parameter(property = "sortgraphql.skipSchemaValidation", defaultValue = "false")
+  protected boolean skipSchemaValidation;
+
+  /**
+   * Keep the original formatting of the schema files when sorting. Only the definitions, fields,
+   * input fields and enum values are moved, together with their descriptions and comments.
+   * Directives, arguments and everything else keep their original order and formatting, and the
+   * generate options are ignored.
+   */
+  @Parameter(property = "sortgraphql.preserveFormatting", defaultValue = "false")
+  protected boolean preserveFormatting;
+
+  /**
+   * Only verify that the schema files are sorted, the build fails if they are not. No schema files
+   * or backup files are saved. Only the order of the schema elements is verified, not the
+   * formatting, and the schema is not validated.
+   */
+  @Parameter(property = "sortgraphql.verifyOnly", defaultValue = "false")
+  protected boolean verifyOnly;
+
+  /**
+   * Remember the content of the sorted schema files between builds, and skip sorting the schema
+   * files that have not changed since the last build.
+   */
+  @Parameter(property = "sortgraphql.useCache", defaultValue = "false")
+  protected boolean useCache;
+
+  /** Directory where the plugin keeps files between builds, such as the cache file. */
+  @Parameter(
+      property = "sortgraphql.workDirectory",
+      defaultValue = "${project.build.directory}/sortgraphql")
+  protected File workDirectory;
+
+  /** The version of this plugin, the cache is not used between different versions. */
+  @Parameter(defaultValue = "${plugin.version}", readonly = true)
+  protected String pluginVersion;
+
+  /**
+   * The maximum number of tokens that the parser accepts in a schema file, 0 means no limit. Apart
+   * from this, the parser has no limits on the size of the schema files, since the default limits
+   * of the GraphQL parser are meant for queries and not for large generated schemas.
+   */
+  @Parameter(property = "sortgraphql.parserMaxTokens", defaultValue = "0")
+  protected int parserMaxTokens;
+
+  /**
+   * Number of threads used to read, parse and sort the schema files. The files are still merged,
+   * logged and saved in the order that they are specified.
+   */
+  @Parameter(property = "sortgraphql.threads", defaultValue = "1")
+  protected int threads;
+
+  /**
+   * Force the sorted schema files to disk before they replace the original files. The files are
+   * always replaced atomically, this also makes sure that the content survives a power failure.
+   */
+  @Parameter(property = "sortgraphql.syncSchemaFiles", defaultValue = "false")
+  protected boolean syncSchemaFiles;
+
   /**
    * Execute plugin.
    *
@@ -1,5 +1,6 @@
 package sortgraphql;
 
+import java.io.File;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -19,11 +20,19 @@ public class SortMojo extends AbstractParentMojo {
                   PluginParameters.builder()
                       .setSchemaFile(schemaFile, schemaFiles)
                       .setBackup(createBackupFile, backupFileExtension)
+                      .setBackupStrategy(backupStrategy, new File(workDirectory, "backup.zip"))
                       .setEncoding(encoding)
                       .setSorting(skipUnionTypeSorting, skipFieldArgumentSorting)
                       .setGenerationOptions(
                           generateSchemaDefinition, false, generateHashDescriptions)
                       .setIndividualSchemas(individualSchemas)
+                      .setThreads(threads)
+                      .setVerifyOnly(verifyOnly)
+                      .setSkipSchemaValidation(skipSchemaValidation)
+                      .setPreserveFormatting(preserveFormatting)
+                      .setParserMaxTokens(parserMaxTokens)
+                      .setSyncSchemaFiles(syncSchemaFiles)
+                      .setCache(useCache ? new File(workDirectory, "cache") : null, pluginVersion)
                       .build();
 
               sorter.setup(new MavenLogger(getLog()), pluginParameters);
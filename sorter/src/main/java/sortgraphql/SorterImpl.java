@@ -1,55 +1,157 @@
 package sortgraphql;
 
-import graphql.schema.GraphQLSchema;
 import java.io.File;
 import java.util.List;
-import java.util.Map;
+import sortgraphql.cache.SchemaCache;
+import sortgraphql.exception.FailureException;
 import sortgraphql.logger.SortingLogger;
 import sortgraphql.parameter.PluginParameters;
+import sortgraphql.sort.SortableSchema;
+import sortgraphql.util.ParallelExecutor;
 
 /** The implementation of the Mojo (Maven plugin) that sorts the schema file. */
 public class SorterImpl {
   private final SorterService sorterService = new SorterService();
 
+  private final SchemaCache schemaCache = new SchemaCache();
+
   private SortingLogger log;
   private List<File> schemaFiles;
-  private Map<File, String> schemaContents;
   private boolean individualSchemas;
+  private ParallelExecutor parallelExecutor;
+  private boolean verifyOnly;
 
   public void setup(SortingLogger log, PluginParameters pluginParameters) {
     this.log = log;
     this.schemaFiles = pluginParameters.schemaFiles;
     this.individualSchemas = pluginParameters.individualSchemas;
+    this.parallelExecutor = new ParallelExecutor(pluginParameters.threads);
+    this.verifyOnly = pluginParameters.verifyOnly;
 
-    sorterService.setup(log, pluginParameters);
+    sorterService.setup(log, pluginParameters, parallelExecutor);
+    schemaCache.setup(pluginParameters);
   }
 
   public void sortSchemas() {
-    schemaContents = sorterService.getSchemaContents(schemaFiles);
+    try {
+      if (verifyOnly) {
+        verifySchemas();
+      } else {
+        sortAndSaveSchemas();
+      }
+    } finally {
+      try {
+        sorterService.closeBackupArchive();
+      } finally {
+        parallelExecutor.close();
+      }
+    }
+  }
+
+  private void sortAndSaveSchemas() {
     if (individualSchemas) {
-      schemaContents.forEach(
-          (file, content) -> {
-            var mergedSchema = sorterService.createMergedSchema(List.of(content), List.of(file));
-            sortSchema(file, mergedSchema);
-          });
+      var changedSchemaFiles = schemaFiles.stream().distinct().filter(this::isChanged).toList();
+      sortIndividualSchemas(changedSchemaFiles);
     } else {
-      var mergedSchema = sorterService.createMergedSchema(schemaContents.values(), schemaFiles);
-      schemaFiles.forEach(schemaFile -> sortSchema(schemaFile, mergedSchema));
+      if (schemaCache.isUnchanged(schemaFiles)) {
+        schemaFiles.forEach(this::logUnchanged);
+        return;
+      }
+      var mergedSchema = sorterService.createMergedSchema(schemaFiles);
+      // The merged schema is immutable, so each file can be sorted in parallel
+      var printInParallel = parallelExecutor.getThreads() > 1 && schemaFiles.size() > 1;
+      parallelExecutor.forEachOrdered(
+          schemaFiles,
+          schemaFile -> sortSchema(schemaFile, mergedSchema, printInParallel),
+          this::saveSortedSchema);
     }
+    schemaCache.update(schemaFiles);
   }
 
-  private void sortSchema(File schemaFile, GraphQLSchema mergedSchema) {
-    log.info("Sorting file " + schemaFile.getAbsolutePath());
+  /**
+   * Each schema file is read, parsed, sorted and compared by one thread, while the calling thread
+   * saves the sorted files in the original order. Only a few files more than there are threads are
+   * in progress at the same time, so the memory used does not depend on the number of files.
+   */
+  private void sortIndividualSchemas(List<File> changedSchemaFiles) {
+    var filesInParallel = parallelExecutor.getThreads() > 1 && changedSchemaFiles.size() > 1;
+    parallelExecutor.forEachOrdered(
+        changedSchemaFiles,
+        schemaFile ->
+            sortSchema(
+                schemaFile,
+                sorterService.createIndividualSchema(schemaFile, filesInParallel),
+                filesInParallel),
+        this::saveSortedSchema,
+        2 * parallelExecutor.getThreads());
+  }
 
-    var sortedContent = sorterService.sortSchema(mergedSchema, schemaFile.getName());
+  private void verifySchemas() {
+    var documents = sorterService.parseDocuments(sorterService.getSchemaContents(schemaFiles));
+
+    documents.forEach(
+        (file, document) -> {
+          log.info("Verifying file " + file.getAbsolutePath());
+          var schemaDocuments = individualSchemas ? List.of(document) : documents.values();
+          sorterService
+              .findFirstUnsortedElement(document, schemaDocuments)
+              .ifPresent(
+                  unsortedElement -> {
+                    throw new FailureException(
+                        String.format(
+                            "Schema file %s is not sorted, %s",
+                            file.getAbsolutePath(), unsortedElement));
+                  });
+          log.info("Schema file is sorted");
+        });
+  }
+
+  private boolean isChanged(File schemaFile) {
+    if (schemaCache.isUnchanged(schemaFile)) {
+      logUnchanged(schemaFile);
+      return false;
+    }
+    return true;
+  }
 
-    if (sorterService.isSchemaSorted(schemaContents.get(schemaFile), sortedContent)) {
+  private void logUnchanged(File schemaFile) {
+    log.info(
+        "Schema file " + schemaFile.getAbsolutePath() + " is unchanged since last build, skipping");
+  }
+
+  /**
+   * Checks if the schema file is sorted. The sorted content is only created here if the files are
+   * printed in parallel, otherwise it is printed straight to the file when it is saved.
+   */
+  private SortedSchema sortSchema(
+      File schemaFile, SortableSchema mergedSchema, boolean printInParallel) {
+    var schemaFileName = schemaFile.getName();
+    if (sorterService.isSchemaSorted(mergedSchema, schemaFile)) {
+      return new SortedSchema(schemaFile, mergedSchema, null, true);
+    }
+    var sortedContent =
+        printInParallel ? sorterService.sortSchema(mergedSchema, schemaFileName) : null;
+    return new SortedSchema(schemaFile, mergedSchema, sortedContent, false);
+  }
+
+  private void saveSortedSchema(SortedSchema sortedSchema) {
+    var schemaFile = sortedSchema.schemaFile();
+    log.info("Sorting file " + schemaFile.getAbsolutePath());
+
+    if (sortedSchema.alreadySorted()) {
       log.info("Schema file is already sorted, exiting");
       return;
     }
 
     sorterService.createBackupFile(schemaFile);
-    sorterService.saveSortedContent(sortedContent, schemaFile);
+    if (sortedSchema.sortedContent() == null) {
+      sorterService.saveSortedSchema(sortedSchema.mergedSchema(), schemaFile);
+    } else {
+      sorterService.saveSortedContent(sortedSchema.sortedContent(), schemaFile);
+    }
     log.info("Saved sorted schema file to " + schemaFile.getAbsolutePath());
   }
+
+  private record SortedSchema(
+      File schemaFile, SortableSchema mergedSchema, String sortedContent, boolean alreadySorted) {}
 }
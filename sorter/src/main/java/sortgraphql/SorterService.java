@@ -5,27 +5,37 @@ import static java.util.stream.Collectors.joining;
 import graphql.language.*;
 import graphql.schema.*;
 import graphql.schema.idl.SchemaGenerator;
-import graphql.schema.idl.SchemaGenerator.Options;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import graphql.schema.idl.errors.SchemaProblem;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import sortgraphql.exception.FailureException;
 import sortgraphql.logger.SortingLogger;
+import sortgraphql.parameter.BackupStrategy;
 import sortgraphql.parameter.PluginParameters;
+import sortgraphql.sort.AstSchema;
+import sortgraphql.sort.AstSchemaPrinter;
 import sortgraphql.sort.FakeRuntimeWiringFactory;
+import sortgraphql.sort.Options;
 import sortgraphql.sort.OptionsBuilder;
+import sortgraphql.sort.PrintCache;
 import sortgraphql.sort.SchemaParser;
 import sortgraphql.sort.SchemaPrinter;
+import sortgraphql.sort.SchemaSourceIndex;
+import sortgraphql.sort.SortOrderVerifier;
+import sortgraphql.sort.SortableSchema;
+import sortgraphql.sort.SourceTextSorter;
 import sortgraphql.util.FileUtil;
+import sortgraphql.util.ParallelExecutor;
 
 /** Contain the concrete methods to sort the schema */
 public class SorterService {
 
-  private static final Options SCHEMA_GENERATOR_OPTIONS =
-      Options.defaultOptions().useCommentsAsDescriptions(false);
+  private static final SchemaGenerator.Options SCHEMA_GENERATOR_OPTIONS =
+      SchemaGenerator.Options.defaultOptions().useCommentsAsDescriptions(false);
   private final FileUtil fileUtil = new FileUtil();
   private final FakeRuntimeWiringFactory wiringFactory = new FakeRuntimeWiringFactory();
 
@@ -33,41 +43,237 @@ public class SorterService {
 
   private boolean createBackupFile;
   private String backupFileExtension;
+  private BackupStrategy backupStrategy;
+  private File backupArchive;
   private boolean skipUnionTypeSorting;
   private boolean skipFieldArgumentSorting;
   private boolean generateSchemaDefinition;
   private boolean generateAllDirectiveDefinitions;
   private boolean descriptionsAsHashComments;
+  private boolean skipSchemaValidation;
+  private boolean preserveFormatting;
+  private SortOrderVerifier sortOrderVerifier;
+  private ParallelExecutor parallelExecutor;
+  private int parserMaxTokens;
+  private Options printOptions;
 
-  public void setup(SortingLogger log, PluginParameters pluginParameters) {
+  /**
+   * Initializes the class with plugin parameters
+   *
+   * @param parallelExecutor the thread pool that is shared by all parallel work in the run
+   */
+  public void setup(
+      SortingLogger log, PluginParameters pluginParameters, ParallelExecutor parallelExecutor) {
     this.log = log;
     this.createBackupFile = pluginParameters.createBackupFile;
     this.backupFileExtension = pluginParameters.backupFileExtension;
+    this.backupStrategy = pluginParameters.backupStrategy;
+    this.backupArchive = pluginParameters.backupArchive;
     this.skipUnionTypeSorting = pluginParameters.skipUnionTypeSorting;
     this.skipFieldArgumentSorting = pluginParameters.skipFieldArgumentSorting;
     this.generateSchemaDefinition = pluginParameters.generateSchemaDefinition;
     this.generateAllDirectiveDefinitions = pluginParameters.generateAllDirectiveDefinitions;
     this.descriptionsAsHashComments = pluginParameters.descriptionsAsHashComments;
+    this.skipSchemaValidation = pluginParameters.skipSchemaValidation;
+    this.preserveFormatting = pluginParameters.preserveFormatting;
+    this.sortOrderVerifier =
+        new SortOrderVerifier(
+            pluginParameters.skipUnionTypeSorting,
+            pluginParameters.skipFieldArgumentSorting,
+            pluginParameters.preserveFormatting);
+    this.parallelExecutor = parallelExecutor;
+    this.parserMaxTokens = pluginParameters.parserMaxTokens;
+    this.printOptions = createPrintOptions();
 
     fileUtil.setup(pluginParameters);
   }
 
+  /** Reads the schema files in parallel, the contents are kept in the same order as the files */
   public Map<File, String> getSchemaContents(List<File> schemaFiles) {
-    return schemaFiles.stream()
-        .collect(
-            Collectors.toMap(
-                file -> file, fileUtil::getSchemaContent, (s1, s2) -> s1, LinkedHashMap::new));
+    var contents = parallelExecutor.map(schemaFiles, fileUtil::getSchemaContent);
+
+    Map<File, String> schemaContents = new LinkedHashMap<>();
+    var contentIterator = contents.iterator();
+    schemaFiles.forEach(file -> schemaContents.putIfAbsent(file, contentIterator.next()));
+    return schemaContents;
   }
 
-  public GraphQLSchema createMergedSchema(Collection<String> schemaContents, List<File> fileNames) {
-    var registry = new TypeDefinitionRegistry();
+  /**
+   * Parses and merges the schema files. Unless schema validation is skipped, an executable schema
+   * is built from the merged definitions, which validates the schema.
+   */
+  private SortableSchema createMergedSchema(
+      Collection<String> schemaContents, List<File> fileNames, ParallelExecutor fileExecutor) {
+    var parsedSchemas = parseSchemas(schemaContents, fileNames, fileExecutor);
+    var registry = mergeRegistries(parsedSchemas);
+
+    if (preserveFormatting) {
+      return createSourceTextSchema(schemaContents, parsedSchemas, registry, fileNames);
+    }
+    return createSortableSchema(registry, fileNames, fileExecutor);
+  }
+
+  /**
+   * Reads, parses and merges the schema files. Each file is parsed as soon as it has been read, so
+   * the content of a file is only kept in memory while it is parsed. Whether a file is sorted is
+   * later decided by comparing with the bytes of the file, so the content is not needed after that.
+   * Only when the original formatting is preserved, the contents are kept to sort the source text.
+   */
+  public SortableSchema createMergedSchema(List<File> schemaFiles) {
+    return createSchema(schemaFiles, createFileExecutor(schemaFiles.size()));
+  }
+
+  /**
+   * Reads, parses and builds the schema of one schema file, when each schema file is sorted
+   * individually
+   *
+   * @param filesInParallel true if other schema files are sorted at the same time, then this file
+   *     is parsed and printed by the calling thread only
+   */
+  public SortableSchema createIndividualSchema(File schemaFile, boolean filesInParallel) {
+    return createSchema(
+        List.of(schemaFile), filesInParallel ? new ParallelExecutor(1) : parallelExecutor);
+  }
+
+  private SortableSchema createSchema(List<File> schemaFiles, ParallelExecutor fileExecutor) {
+    if (preserveFormatting) {
+      return createMergedSchema(getSchemaContents(schemaFiles).values(), schemaFiles, fileExecutor);
+    }
+    var distinctFiles = schemaFiles.stream().distinct().toList();
+    var schemaParser = new SchemaParser(parserMaxTokens, fileExecutor);
+    var parsedSchemas =
+        parallelExecutor.map(
+            distinctFiles,
+            file -> parseSchema(schemaParser, fileUtil.getSchemaContent(file), file.getName()));
+    return createSortableSchema(mergeRegistries(parsedSchemas), schemaFiles, fileExecutor);
+  }
+
+  private SortableSchema createSortableSchema(
+      TypeDefinitionRegistry registry, List<File> fileNames, ParallelExecutor fileExecutor) {
+    // All directive definitions can only be generated from an executable schema
+    if (skipSchemaValidation && !generateAllDirectiveDefinitions) {
+      return createAstSchema(registry);
+    }
+    return createGeneratedSchema(registry, fileNames, fileExecutor);
+  }
+
+  /**
+   * @param printExecutor the types of a large schema file can be printed in parallel
+   */
+  private SortableSchema createGeneratedSchema(
+      TypeDefinitionRegistry registry, List<File> fileNames, ParallelExecutor printExecutor) {
+    var graphQLSchema = createExecutableSchema(registry, fileNames);
+    // Index the merged schema once, instead of visiting every type for every file
+    var sourceIndex = SchemaSourceIndex.create(graphQLSchema);
+    // The same applied directives are printed in many of the source files
+    var printCache = new PrintCache();
+    return new SortableSchema() {
+      @Override
+      public String print(String sourceName) {
+        return createSchemaPrinter(sourceName, printCache, printExecutor)
+            .print(graphQLSchema, sourceIndex, sourceName);
+      }
+
+      @Override
+      public void print(String sourceName, Writer writer) throws IOException {
+        createSchemaPrinter(sourceName, printCache, printExecutor)
+            .print(graphQLSchema, sourceIndex, sourceName, writer);
+      }
+    };
+  }
 
+  /** Parses each schema file in parallel */
+  private List<ParsedSchema> parseSchemas(
+      Collection<String> schemaContents, List<File> fileNames, ParallelExecutor fileExecutor) {
+    var schemaParser = new SchemaParser(parserMaxTokens, fileExecutor);
     var nameIterator = fileNames.iterator();
-    var schemaParser = new SchemaParser();
-    schemaContents.forEach(
-        schemaContent ->
-            registry.merge(schemaParser.parse(schemaContent, nameIterator.next().getName())));
+    var sources =
+        schemaContents.stream()
+            .map(schemaContent -> Map.entry(nameIterator.next().getName(), schemaContent))
+            .toList();
+    return parallelExecutor.map(
+        sources, source -> parseSchema(schemaParser, source.getValue(), source.getKey()));
+  }
+
+  private static ParsedSchema parseSchema(
+      SchemaParser schemaParser, String schemaContent, String sourceName) {
+    var document = schemaParser.parseDocument(schemaContent, sourceName);
+    return new ParsedSchema(sourceName, document, schemaParser.buildRegistry(document));
+  }
 
+  /**
+   * Several schema files are parsed and printed in parallel, while a single large schema file is
+   * split into chunks that are parsed in parallel and its types are printed in parallel
+   */
+  private ParallelExecutor createFileExecutor(int fileCount) {
+    return fileCount == 1 ? parallelExecutor : new ParallelExecutor(1);
+  }
+
+  /**
+   * The registries are merged in the same order as the schema files, so that the result (and any
+   * error for duplicate definitions) does not depend on which file was parsed first
+   */
+  private TypeDefinitionRegistry mergeRegistries(List<ParsedSchema> parsedSchemas) {
+    var registry = new TypeDefinitionRegistry();
+    parsedSchemas.forEach(parsedSchema -> registry.merge(parsedSchema.registry()));
+    return registry;
+  }
+
+  private SortableSchema createSourceTextSchema(
+      Collection<String> schemaContents,
+      List<ParsedSchema> parsedSchemas,
+      TypeDefinitionRegistry registry,
+      List<File> fileNames) {
+    Map<String, String> contents = new HashMap<>();
+    Map<String, Document> documents = new LinkedHashMap<>();
+    var contentIterator = schemaContents.iterator();
+    parsedSchemas.forEach(
+        parsedSchema -> {
+          contents.put(parsedSchema.sourceName(), contentIterator.next());
+          documents.put(parsedSchema.sourceName(), parsedSchema.document());
+        });
+    if (!skipSchemaValidation) {
+      createExecutableSchema(registry, fileNames);
+    }
+
+    var sourceTextSorter = new SourceTextSorter(documents.values());
+    return new SortableSchema() {
+      @Override
+      public String print(String sourceName) {
+        return sourceTextSorter.sort(contents.get(sourceName), documents.get(sourceName));
+      }
+
+      @Override
+      public void print(String sourceName, Writer writer) throws IOException {
+        // The moved slices are collected first, since they are copied from the original text
+        writer.write(print(sourceName));
+      }
+    };
+  }
+
+  private SortableSchema createAstSchema(TypeDefinitionRegistry registry) {
+    var astSchema = AstSchema.create(registry);
+    var printer =
+        new AstSchemaPrinter(
+            generateSchemaDefinition,
+            descriptionsAsHashComments,
+            skipUnionTypeSorting,
+            skipFieldArgumentSorting);
+    return new SortableSchema() {
+      @Override
+      public String print(String sourceName) {
+        return printer.print(astSchema, sourceName);
+      }
+
+      @Override
+      public void print(String sourceName, Writer writer) throws IOException {
+        printer.print(astSchema, sourceName, writer);
+      }
+    };
+  }
+
+  private GraphQLSchema createExecutableSchema(
+      TypeDefinitionRegistry registry, List<File> fileNames) {
     addArtificialQueryTypeIfMissing(registry);
 
     var runtimeWiring = wiringFactory.createFakeRuntime(registry);
@@ -84,6 +290,25 @@ public class SorterService {
     }
   }
 
+  /** Parses the schema files in parallel, the documents are kept in the same order as the files */
+  public Map<File, Document> parseDocuments(Map<File, String> schemaContents) {
+    var schemaParser = new SchemaParser(parserMaxTokens, createFileExecutor(schemaContents.size()));
+    var documents =
+        parallelExecutor.map(
+            List.copyOf(schemaContents.entrySet()),
+            entry -> schemaParser.parseDocument(entry.getValue(), entry.getKey().getName()));
+
+    Map<File, Document> returnValue = new LinkedHashMap<>();
+    var documentIterator = documents.iterator();
+    schemaContents.keySet().forEach(file -> returnValue.put(file, documentIterator.next()));
+    return returnValue;
+  }
+
+  public Optional<String> findFirstUnsortedElement(
+      Document document, Collection<Document> schemaDocuments) {
+    return sortOrderVerifier.findFirstUnsortedElement(document, schemaDocuments);
+  }
+
   private void addArtificialQueryTypeIfMissing(TypeDefinitionRegistry registry) {
     var queryType = registry.getTypeOrNull("Query");
     if (queryType == null) {
@@ -97,7 +322,30 @@ public class SorterService {
     }
   }
 
-  public String sortSchema(GraphQLSchema graphQLSchema, String schemaFileName) {
+  public String sortSchema(SortableSchema schema, String schemaFileName) {
+    return schema.print(schemaFileName);
+  }
+
+  /**
+   * Compares the encoded sorted schema with the bytes of the schema file while it is printed,
+   * without creating the sorted content
+   */
+  public boolean isSchemaSorted(SortableSchema schema, File schemaFile) {
+    return fileUtil.hasSameContent(
+        writer -> schema.print(schemaFile.getName(), writer), schemaFile);
+  }
+
+  private SchemaPrinter createSchemaPrinter(
+      String schemaFileName, PrintCache printCache, ParallelExecutor printExecutor) {
+    return new SchemaPrinter(
+        printOptions, sourceLocationPredicate(schemaFileName), printCache, printExecutor);
+  }
+
+  /**
+   * The print options are the same for all schema files, so that the comparators are only resolved
+   * once for the whole run
+   */
+  private Options createPrintOptions() {
     var options =
         OptionsBuilder.defaultOptions()
             .setIncludeDirectiveDefinitions(generateAllDirectiveDefinitions)
@@ -111,9 +359,7 @@ public class SorterService {
               .parentType(GraphQLUnionType.class)
               .elementType(GraphQLOutputType.class)
               .build();
-      options =
-          options.addComparatorToRegistry(
-              environment, (Comparator<GraphQLOutputType>) (o1, o2) -> 0);
+      options = options.keepOriginalOrder(environment);
     }
     if (skipFieldArgumentSorting) {
       var environment =
@@ -121,12 +367,9 @@ public class SorterService {
               .parentType(GraphQLFieldDefinition.class)
               .elementType(GraphQLArgument.class)
               .build();
-      options =
-          options.addComparatorToRegistry(environment, (Comparator<GraphQLArgument>) (o1, o2) -> 0);
+      options = options.keepOriginalOrder(environment);
     }
-    options = options.setNodeDescriptionFilter(sourceLocationPredicate(schemaFileName));
-
-    return new SchemaPrinter(options.build()).print(graphQLSchema);
+    return options.build();
   }
 
   private Predicate<AbstractDescribedNode<?>> sourceLocationPredicate(String schemaFileName) {
@@ -139,25 +382,38 @@ public class SorterService {
     };
   }
 
-  public boolean isSchemaSorted(String schemaContent, String sortedContent) {
-    return schemaContent.equals(sortedContent);
-  }
-
   public void createBackupFile(File schemaFile) {
     if (!createBackupFile) {
       return;
     }
-    if (backupFileExtension.trim().isEmpty()) {
+    if (backupStrategy == BackupStrategy.ARCHIVE) {
+      if (backupArchive == null) {
+        throw new FailureException("Could not create backup file, no backup archive was specified");
+      }
+    } else if (backupFileExtension.trim().isEmpty()) {
       throw new FailureException("Could not create backup file, extension name was empty");
     }
-    fileUtil.backupFile(schemaFile);
+    var backupFile = fileUtil.backupFile(schemaFile);
     log.info(
         String.format(
-            "Saved backup of %s to %s%s",
-            schemaFile.getAbsolutePath(), schemaFile.getAbsolutePath(), backupFileExtension));
+            "Saved backup of %s to %s",
+            schemaFile.getAbsolutePath(), backupFile.getAbsolutePath()));
+  }
+
+  /** Saves the backup archive, after all schema files have been sorted */
+  public void closeBackupArchive() {
+    fileUtil.closeBackupArchive();
   }
 
   public void saveSortedContent(String sortedContent, File schemaFile) {
     fileUtil.saveSchema(sortedContent, schemaFile);
   }
+
+  /** Prints the sorted schema straight to the schema file, without creating the content first */
+  public void saveSortedSchema(SortableSchema schema, File schemaFile) {
+    fileUtil.saveSchema(writer -> schema.print(schemaFile.getName(), writer), schemaFile);
+  }
+
+  private record ParsedSchema(
+      String sourceName, Document document, TypeDefinitionRegistry registry) {}
 }
@@ -0,0 +1,157 @@
+package sortgraphql.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import sortgraphql.exception.FailureException;
+import sortgraphql.parameter.PluginParameters;
+
+/**
+ * Remembers the content of the schema files after they were sorted in a previous build, so that
+ * unchanged files do not have to be parsed and sorted again. The cache is only valid for the same
+ * plugin version and the same sorting parameters.
+ */
+public class SchemaCache {
+  private static final String PLUGIN_VERSION_KEY = "pluginVersion";
+  private static final String PARAMETERS_KEY = "parameters";
+  private static final String FILE_KEY_PREFIX = "file.";
+
+  private File cacheFile;
+  private String pluginVersion;
+  private String parametersHash;
+  private Properties cachedEntries;
+
+  /** Initializes the class with plugin parameters and loads the cache from the previous build. */
+  public void setup(PluginParameters parameters) {
+    this.cacheFile = parameters.cacheFile;
+    this.pluginVersion = String.valueOf(parameters.pluginVersion);
+    this.parametersHash = hash(parametersKey(parameters).getBytes(StandardCharsets.UTF_8));
+    this.cachedEntries = isEnabled() ? loadCachedEntries() : new Properties();
+  }
+
+  /**
+   * All parameters that affect the sorted files or the backups. The schema files, the cache itself
+   * and the parameters that only affect how the files are processed are left out.
+   */
+  static String parametersKey(PluginParameters parameters) {
+    return String.join(
+        "|",
+        String.valueOf(parameters.createBackupFile),
+        String.valueOf(parameters.backupFileExtension),
+        String.valueOf(parameters.backupStrategy),
+        String.valueOf(parameters.backupArchive),
+        String.valueOf(parameters.encoding),
+        String.valueOf(parameters.skipUnionTypeSorting),
+        String.valueOf(parameters.skipFieldArgumentSorting),
+        String.valueOf(parameters.generateSchemaDefinition),
+        String.valueOf(parameters.generateAllDirectiveDefinitions),
+        String.valueOf(parameters.descriptionsAsHashComments),
+        String.valueOf(parameters.individualSchemas),
+        String.valueOf(parameters.skipSchemaValidation),
+        String.valueOf(parameters.preserveFormatting),
+        String.valueOf(parameters.parserMaxTokens));
+  }
+
+  private Properties loadCachedEntries() {
+    var properties = new Properties();
+    if (!cacheFile.exists()) {
+      return properties;
+    }
+    try (InputStream inputStream = Files.newInputStream(cacheFile.toPath())) {
+      properties.load(inputStream);
+    } catch (IOException | IllegalArgumentException e) {
+      // A broken cache is the same as no cache
+      return new Properties();
+    }
+    if (!pluginVersion.equals(properties.getProperty(PLUGIN_VERSION_KEY))
+        || !parametersHash.equals(properties.getProperty(PARAMETERS_KEY))) {
+      return new Properties();
+    }
+    return properties;
+  }
+
+  /** Returns true if the schema file has the same content as when it was sorted last time */
+  public boolean isUnchanged(File schemaFile) {
+    var cachedHash = cachedEntries.getProperty(fileKey(schemaFile));
+    return cachedHash != null && cachedHash.equals(hashFileContent(schemaFile));
+  }
+
+  /**
+   * Returns true if all schema files have the same content as when they were sorted together last
+   * time. Adding, removing or changing any file invalidates all of them.
+   */
+  public boolean isUnchanged(List<File> schemaFiles) {
+    Set<String> cachedFileKeys =
+        cachedEntries.stringPropertyNames().stream()
+            .filter(key -> key.startsWith(FILE_KEY_PREFIX))
+            .collect(Collectors.toSet());
+    Set<String> fileKeys =
+        schemaFiles.stream().map(SchemaCache::fileKey).collect(Collectors.toSet());
+    return !fileKeys.isEmpty()
+        && cachedFileKeys.equals(fileKeys)
+        && schemaFiles.stream().allMatch(this::isUnchanged);
+  }
+
+  /** Stores the current content of the sorted schema files for the next build. */
+  public void update(List<File> schemaFiles) {
+    if (!isEnabled()) {
+      return;
+    }
+    var properties = new Properties();
+    properties.setProperty(PLUGIN_VERSION_KEY, pluginVersion);
+    properties.setProperty(PARAMETERS_KEY, parametersHash);
+    schemaFiles.forEach(
+        schemaFile -> {
+          var contentHash = hashFileContent(schemaFile);
+          if (contentHash != null) {
+            properties.setProperty(fileKey(schemaFile), contentHash);
+          }
+        });
+
+    try {
+      Files.createDirectories(cacheFile.getAbsoluteFile().getParentFile().toPath());
+      try (OutputStream outputStream = Files.newOutputStream(cacheFile.toPath())) {
+        properties.store(outputStream, "SortGraphQL cache");
+      }
+    } catch (IOException e) {
+      throw new FailureException("Could not save cache file: " + cacheFile.getAbsolutePath(), e);
+    }
+    cachedEntries = properties;
+  }
+
+  private boolean isEnabled() {
+    return cacheFile != null;
+  }
+
+  private static String fileKey(File schemaFile) {
+    return FILE_KEY_PREFIX + schemaFile.getAbsolutePath();
+  }
+
+  private String hashFileContent(File schemaFile) {
+    try {
+      return hash(Files.readAllBytes(schemaFile.toPath()));
+    } catch (IOException e) {
+      // Let the sorting report the problem with the file
+      return null;
+    }
+  }
+
+  private static String hash(byte[] content) {
+    try {
+      var messageDigest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(messageDigest.digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new FailureException("Could not create hash for cache", e);
+    }
+  }
+}
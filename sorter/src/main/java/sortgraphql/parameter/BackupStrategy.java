@@ -0,0 +1,50 @@
+package sortgraphql.parameter;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.Arrays;
+import sortgraphql.exception.FailureException;
+
+/** The ways that a backup of a schema file can be created before the sorted file is saved */
+public enum BackupStrategy {
+  /** Copy the schema file to the backup file */
+  COPY("copy"),
+  /**
+   * Link the backup file to the schema file. The sorted file replaces the schema file, so the
+   * backup file keeps the original content without copying it. Falls back to a copy if the file
+   * system does not support hard links.
+   */
+  HARD_LINK("hardLink"),
+  /**
+   * Rename the schema file to the backup file. The sorted file is saved as a new file, so the
+   * schema file is missing if the save fails.
+   */
+  RENAME("rename"),
+  /** Add the schema files to one zip archive, which is replaced by each build that sorts a file */
+  ARCHIVE("archive");
+
+  private final String name;
+
+  BackupStrategy(String name) {
+    this.name = name;
+  }
+
+  /** The strategy with the name that is used in the plugin configuration, null means copy */
+  public static BackupStrategy fromName(String name) {
+    if (name == null) {
+      return COPY;
+    }
+    return Arrays.stream(values())
+        .filter(strategy -> strategy.name.equalsIgnoreCase(name.trim()))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new FailureException(
+                    String.format(
+                        "Unknown backup strategy '%s', expected one of: %s",
+                        name,
+                        Arrays.stream(values())
+                            .map(strategy -> strategy.name)
+                            .collect(joining(", ")))));
+  }
+}
@@ -17,6 +17,16 @@ public class PluginParameters {
   public final boolean generateAllDirectiveDefinitions;
   public final boolean descriptionsAsHashComments;
   public final boolean individualSchemas;
+  public final int threads;
+  public final File cacheFile;
+  public final String pluginVersion;
+  public final boolean verifyOnly;
+  public final boolean skipSchemaValidation;
+  public final boolean preserveFormatting;
+  public final int parserMaxTokens;
+  public final boolean syncSchemaFiles;
+  public final BackupStrategy backupStrategy;
+  public final File backupArchive;
 
   public PluginParameters(
       List<File> schemaFiles,
@@ -28,7 +38,17 @@ public class PluginParameters {
       boolean generateSchemaDefinition,
       boolean generateAllDirectiveDefinitions,
       boolean descriptionsAsHashComments,
-      boolean individualSchemas) {
+      boolean individualSchemas,
+      int threads,
+      File cacheFile,
+      String pluginVersion,
+      boolean verifyOnly,
+      boolean skipSchemaValidation,
+      boolean preserveFormatting,
+      int parserMaxTokens,
+      boolean syncSchemaFiles,
+      BackupStrategy backupStrategy,
+      File backupArchive) {
     this.schemaFiles = schemaFiles;
     this.createBackupFile = createBackupFile;
     this.backupFileExtension = backupFileExtension;
@@ -39,6 +59,16 @@ public class PluginParameters {
     this.generateAllDirectiveDefinitions = generateAllDirectiveDefinitions;
     this.descriptionsAsHashComments = descriptionsAsHashComments;
     this.individualSchemas = individualSchemas;
+    this.threads = threads;
+    this.cacheFile = cacheFile;
+    this.pluginVersion = pluginVersion;
+    this.verifyOnly = verifyOnly;
+    this.skipSchemaValidation = skipSchemaValidation;
+    this.preserveFormatting = preserveFormatting;
+    this.parserMaxTokens = parserMaxTokens;
+    this.syncSchemaFiles = syncSchemaFiles;
+    this.backupStrategy = backupStrategy;
+    this.backupArchive = backupArchive;
   }
 
   public static Builder builder() {
@@ -57,6 +87,16 @@ public class PluginParameters {
     private boolean generateAllDirectiveDefinitions;
     private boolean descriptionsAsHashComments;
     private boolean individualSchemas;
+    private int threads = 1;
+    private File cacheFile;
+    private String pluginVersion;
+    private boolean verifyOnly;
+    private boolean skipSchemaValidation;
+    private boolean preserveFormatting;
+    private int parserMaxTokens;
+    private boolean syncSchemaFiles;
+    private BackupStrategy backupStrategy = BackupStrategy.COPY;
+    private File backupArchive;
 
     private Builder() {}
 
@@ -86,6 +126,59 @@ public class PluginParameters {
       return this;
     }
 
+    /** Sets how many threads that are used to sort the schema files */
+    public Builder setThreads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /** Sets where the sorted schema files are remembered between builds, null means no cache */
+    public Builder setCache(File cacheFile, String pluginVersion) {
+      this.cacheFile = cacheFile;
+      this.pluginVersion = pluginVersion;
+      return this;
+    }
+
+    /** Sets if the schema files should only be verified, without saving any files */
+    public Builder setVerifyOnly(boolean verifyOnly) {
+      this.verifyOnly = verifyOnly;
+      return this;
+    }
+
+    /** Sets if the schema files should be sorted without validating the schema */
+    public Builder setSkipSchemaValidation(boolean skipSchemaValidation) {
+      this.skipSchemaValidation = skipSchemaValidation;
+      return this;
+    }
+
+    /** Sets if the original formatting should be kept when sorting */
+    public Builder setPreserveFormatting(boolean preserveFormatting) {
+      this.preserveFormatting = preserveFormatting;
+      return this;
+    }
+
+    /** Sets the maximum number of tokens in a schema file, 0 means no limit */
+    public Builder setParserMaxTokens(int parserMaxTokens) {
+      this.parserMaxTokens = parserMaxTokens;
+      return this;
+    }
+
+    /** Sets if the saved schema files should be forced to disk before they replace the originals */
+    public Builder setSyncSchemaFiles(boolean syncSchemaFiles) {
+      this.syncSchemaFiles = syncSchemaFiles;
+      return this;
+    }
+
+    /**
+     * Sets how the backup files are created, and the archive file that is used by the archive
+     * strategy
+     */
+    public Builder setBackupStrategy(String backupStrategy, File backupArchive) {
+      this.backupStrategy = BackupStrategy.fromName(backupStrategy);
+      this.backupArchive = backupArchive;
+      return this;
+    }
+
     /** Sets sorting options */
     public Builder setSorting(boolean skipUnionTypeSorting, boolean skipFieldArgumentSorting) {
       this.skipUnionTypeSorting = skipUnionTypeSorting;
@@ -115,7 +208,17 @@ public class PluginParameters {
           generateSchemaDefinition,
           generateAllDirectiveDefinitions,
           descriptionsAsHashComments,
-          individualSchemas);
+          individualSchemas,
+          threads,
+          cacheFile,
+          pluginVersion,
+          verifyOnly,
+          skipSchemaValidation,
+          preserveFormatting,
+          parserMaxTokens,
+          syncSchemaFiles,
+          backupStrategy,
+          backupArchive);
     }
   }
 }
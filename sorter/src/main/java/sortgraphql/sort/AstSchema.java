@@ -0,0 +1,227 @@
+package sortgraphql.sort;
+
+import graphql.Directives;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.EnumValueDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.ImplementingTypeDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.SDLDefinition;
+import graphql.language.Type;
+import graphql.language.TypeDefinition;
+import graphql.language.UnionTypeDefinition;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A parsed schema where the type definitions are grouped by source file and combined with their
+ * extensions, so that it can be printed without building an executable schema. Nothing in the
+ * schema is validated.
+ */
+public class AstSchema {
+  private static final List<DirectiveDefinition> BUILT_IN_DIRECTIVE_DEFINITIONS =
+      List.of(
+          Directives.DEPRECATED_DIRECTIVE_DEFINITION,
+          Directives.INCLUDE_DIRECTIVE_DEFINITION,
+          Directives.SKIP_DIRECTIVE_DEFINITION,
+          Directives.SPECIFIED_BY_DIRECTIVE_DEFINITION,
+          Directives.ONE_OF_DIRECTIVE_DEFINITION,
+          Directives.DEFER_DIRECTIVE_DEFINITION);
+
+  private final Map<String, List<TypeDefinition<?>>> typesBySource = new HashMap<>();
+  private final Map<String, List<DirectiveDefinition>> directivesBySource = new HashMap<>();
+  private final Map<String, DirectiveDefinition> directiveDefinitions = new HashMap<>();
+  private final Map<String, List<? extends TypeDefinition<?>>> extensionsByType = new HashMap<>();
+  private final List<Directive> schemaDirectives = new ArrayList<>();
+  private final boolean hasSchemaDefinition;
+  private final String queryTypeName;
+  private final String mutationTypeName;
+  private final String subscriptionTypeName;
+
+  private AstSchema(TypeDefinitionRegistry registry) {
+    Map<String, String> operationTypeNames = new HashMap<>();
+    registry
+        .schemaDefinition()
+        .ifPresent(
+            schemaDefinition -> {
+              schemaDirectives.addAll(schemaDefinition.getDirectives());
+              schemaDefinition
+                  .getOperationTypeDefinitions()
+                  .forEach(
+                      operationType ->
+                          operationTypeNames.put(
+                              operationType.getName(), operationType.getTypeName().getName()));
+            });
+    registry
+        .getSchemaExtensionDefinitions()
+        .forEach(
+            schemaExtension -> {
+              schemaDirectives.addAll(schemaExtension.getDirectives());
+              schemaExtension
+                  .getOperationTypeDefinitions()
+                  .forEach(
+                      operationType ->
+                          operationTypeNames.put(
+                              operationType.getName(), operationType.getTypeName().getName()));
+            });
+
+    // Without schema definition, the root types are found by their default names. The query type
+    // always exists, since an artificial query type is added to schemas without one.
+    this.hasSchemaDefinition = registry.schemaDefinition().isPresent();
+    this.queryTypeName = operationTypeNames.getOrDefault("query", "Query");
+    this.mutationTypeName = getRootTypeName(registry, operationTypeNames, "mutation", "Mutation");
+    this.subscriptionTypeName =
+        getRootTypeName(registry, operationTypeNames, "subscription", "Subscription");
+  }
+
+  /** Groups the type definitions in the registry by source file and combines their extensions */
+  public static AstSchema create(TypeDefinitionRegistry registry) {
+    var schema = new AstSchema(registry);
+    registry.types().values().forEach(type -> schema.add(type, schema.typesBySource));
+    registry.scalars().values().stream()
+        .filter(scalar -> !ScalarInfo.isGraphqlSpecifiedScalar(scalar.getName()))
+        .forEach(scalar -> schema.add(scalar, schema.typesBySource));
+
+    BUILT_IN_DIRECTIVE_DEFINITIONS.forEach(
+        directive -> schema.directiveDefinitions.put(directive.getName(), directive));
+    registry
+        .getDirectiveDefinitions()
+        .values()
+        .forEach(
+            directive -> {
+              schema.directiveDefinitions.put(directive.getName(), directive);
+              schema.add(directive, schema.directivesBySource);
+            });
+
+    schema.extensionsByType.putAll(registry.objectTypeExtensions());
+    schema.extensionsByType.putAll(registry.interfaceTypeExtensions());
+    schema.extensionsByType.putAll(registry.unionTypeExtensions());
+    schema.extensionsByType.putAll(registry.enumTypeExtensions());
+    schema.extensionsByType.putAll(registry.scalarTypeExtensions());
+    schema.extensionsByType.putAll(registry.inputObjectTypeExtensions());
+    return schema;
+  }
+
+  private String getRootTypeName(
+      TypeDefinitionRegistry registry,
+      Map<String, String> operationTypeNames,
+      String operation,
+      String defaultTypeName) {
+    if (hasSchemaDefinition) {
+      return operationTypeNames.get(operation);
+    }
+    return operationTypeNames.getOrDefault(
+        operation,
+        registry.getTypeOrNull(defaultTypeName, ObjectTypeDefinition.class) == null
+            ? null
+            : defaultTypeName);
+  }
+
+  private <T extends SDLDefinition<?>> void add(T definition, Map<String, List<T>> bySource) {
+    var sourceLocation = definition.getSourceLocation();
+    if (sourceLocation != null && sourceLocation.getSourceName() != null) {
+      bySource
+          .computeIfAbsent(sourceLocation.getSourceName(), key -> new ArrayList<>())
+          .add(definition);
+    }
+  }
+
+  /** All types that are defined in the source file, extensions are not included */
+  public List<TypeDefinition<?>> getTypes(String sourceName) {
+    return typesBySource.getOrDefault(sourceName, List.of());
+  }
+
+  /** All directives that are defined in the source file */
+  public List<DirectiveDefinition> getDirectiveDefinitions(String sourceName) {
+    return directivesBySource.getOrDefault(sourceName, List.of());
+  }
+
+  /** The directive definition with the name, built-in directives included */
+  public DirectiveDefinition getDirectiveDefinition(String name) {
+    return directiveDefinitions.get(name);
+  }
+
+  public String getQueryTypeName() {
+    return queryTypeName;
+  }
+
+  public String getMutationTypeName() {
+    return mutationTypeName;
+  }
+
+  public String getSubscriptionTypeName() {
+    return subscriptionTypeName;
+  }
+
+  /** The directives applied to the schema definition and all schema extensions */
+  public List<Directive> getSchemaDirectives() {
+    return schemaDirectives;
+  }
+
+  /** The directives applied to the type and all its extensions */
+  public List<Directive> getDirectives(TypeDefinition<?> type) {
+    return withExtensions(type).flatMap(definition -> definition.getDirectives().stream()).toList();
+  }
+
+  /** The interfaces implemented by the type and all its extensions */
+  public List<Type> getImplements(ImplementingTypeDefinition<?> type) {
+    return withExtensions(type)
+        .filter(ImplementingTypeDefinition.class::isInstance)
+        .flatMap(
+            definition -> ((ImplementingTypeDefinition<?>) definition).getImplements().stream())
+        .toList();
+  }
+
+  /** The fields of the type and all its extensions */
+  public List<FieldDefinition> getFieldDefinitions(ImplementingTypeDefinition<?> type) {
+    return withExtensions(type)
+        .filter(ImplementingTypeDefinition.class::isInstance)
+        .flatMap(
+            definition ->
+                ((ImplementingTypeDefinition<?>) definition).getFieldDefinitions().stream())
+        .toList();
+  }
+
+  /** The member types of the union and all its extensions */
+  public List<Type> getMemberTypes(UnionTypeDefinition type) {
+    return withExtensions(type)
+        .filter(UnionTypeDefinition.class::isInstance)
+        .flatMap(definition -> ((UnionTypeDefinition) definition).getMemberTypes().stream())
+        .toList();
+  }
+
+  /** The values of the enum and all its extensions */
+  public List<EnumValueDefinition> getEnumValueDefinitions(EnumTypeDefinition type) {
+    return withExtensions(type)
+        .filter(EnumTypeDefinition.class::isInstance)
+        .flatMap(definition -> ((EnumTypeDefinition) definition).getEnumValueDefinitions().stream())
+        .toList();
+  }
+
+  /** The input fields of the input type and all its extensions */
+  public List<InputValueDefinition> getInputValueDefinitions(InputObjectTypeDefinition type) {
+    return withExtensions(type)
+        .filter(InputObjectTypeDefinition.class::isInstance)
+        .flatMap(
+            definition ->
+                ((InputObjectTypeDefinition) definition).getInputValueDefinitions().stream())
+        .toList();
+  }
+
+  private Stream<TypeDefinition<?>> withExtensions(TypeDefinition<?> type) {
+    var extensions = extensionsByType.get(type.getName());
+    if (extensions == null) {
+      return Stream.of(type);
+    }
+    return Stream.concat(Stream.of(type), extensions.stream());
+  }
+}
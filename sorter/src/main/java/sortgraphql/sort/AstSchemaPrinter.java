@@ -0,0 +1,494 @@
+package sortgraphql.sort;
+
+import graphql.introspection.Introspection;
+import graphql.language.AbstractDescribedNode;
+import graphql.language.Argument;
+import graphql.language.AstPrinter;
+import graphql.language.Description;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.ImplementingTypeDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.ListType;
+import graphql.language.NamedNode;
+import graphql.language.Node;
+import graphql.language.NonNullType;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.Type;
+import graphql.language.TypeDefinition;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Prints a parsed schema directly from its definitions, without building an executable schema. The
+ * output is the same as the SchemaPrinter output for a schema that passes validation.
+ */
+public class AstSchemaPrinter {
+  private static final Comparator<NamedNode<?>> BY_NAME = Comparator.comparing(NamedNode::getName);
+
+  private final boolean includeSchemaDefinition;
+  private final boolean descriptionsAsHashComments;
+  private final boolean skipUnionTypeSorting;
+  private final boolean skipFieldArgumentSorting;
+
+  /** The same printer prints all source files of the schema, so the cache is shared by them */
+  private final PrintCache printCache = new PrintCache();
+
+  public AstSchemaPrinter(
+      boolean includeSchemaDefinition,
+      boolean descriptionsAsHashComments,
+      boolean skipUnionTypeSorting,
+      boolean skipFieldArgumentSorting) {
+    this.includeSchemaDefinition = includeSchemaDefinition;
+    this.descriptionsAsHashComments = descriptionsAsHashComments;
+    this.skipUnionTypeSorting = skipUnionTypeSorting;
+    this.skipFieldArgumentSorting = skipFieldArgumentSorting;
+  }
+
+  /**
+   * Prints the types and directives that are defined in one source file of the schema
+   *
+   * @param schema the parsed schema in play
+   * @param sourceName the source file to print
+   * @return the logical schema definition
+   */
+  public String print(AstSchema schema, String sourceName) {
+    var sw = new StringWriter();
+    try {
+      print(schema, sourceName, sw);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not print to string", e);
+    }
+    return sw.toString();
+  }
+
+  /**
+   * Prints the types and directives that are defined in one source file of the schema straight to
+   * the writer, so that the output is never stored in memory. The last newline is removed if the
+   * output ends with two newlines.
+   *
+   * @param schema the parsed schema in play
+   * @param sourceName the source file to print
+   * @param writer where the logical schema definition is written
+   * @throws IOException if the writer fails
+   */
+  public void print(AstSchema schema, String sourceName, Writer writer) throws IOException {
+    var trailingNewlineWriter = new TrailingNewlineWriter(writer);
+    var out = new PrintWriter(trailingNewlineWriter);
+    print(out, schema, sourceName);
+    out.flush();
+    trailingNewlineWriter.finish();
+  }
+
+  private void print(PrintWriter out, AstSchema schema, String sourceName) {
+    if (needsSchemaPrinted(schema)) {
+      printSchemaElement(out, schema);
+    }
+
+    var directiveDefinitions =
+        schema.getDirectiveDefinitions(sourceName).stream().sorted(BY_NAME).toList();
+    if (!directiveDefinitions.isEmpty()) {
+      directiveDefinitions.forEach(
+          directive -> {
+            printDirectiveDefinition(out, schema, directive);
+            out.append("\n");
+          });
+      out.append("\n");
+    }
+
+    var rootTypeNames =
+        Stream.of(
+                schema.getQueryTypeName(),
+                schema.getMutationTypeName(),
+                schema.getSubscriptionTypeName())
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    List<TypeDefinition<?>> types =
+        schema.getTypes(sourceName).stream()
+            .filter(type -> !type.getName().startsWith("__"))
+            .sorted(BY_NAME)
+            .toList();
+
+    rootTypeNames.forEach(
+        rootTypeName ->
+            types.stream()
+                .filter(type -> type.getName().equals(rootTypeName))
+                .filter(ObjectTypeDefinition.class::isInstance)
+                .forEach(type -> printImplementingType(out, schema, sourceName, "type", type)));
+    types.stream()
+        .filter(ScalarTypeDefinition.class::isInstance)
+        .forEach(type -> printScalar(out, schema, (ScalarTypeDefinition) type));
+    types.stream()
+        .filter(InterfaceTypeDefinition.class::isInstance)
+        .forEach(type -> printImplementingType(out, schema, sourceName, "interface", type));
+    types.stream()
+        .filter(UnionTypeDefinition.class::isInstance)
+        .forEach(type -> printUnion(out, schema, (UnionTypeDefinition) type));
+    types.stream()
+        .filter(InputObjectTypeDefinition.class::isInstance)
+        .forEach(type -> printInput(out, schema, (InputObjectTypeDefinition) type));
+    types.stream()
+        .filter(ObjectTypeDefinition.class::isInstance)
+        .filter(type -> !rootTypeNames.contains(type.getName()))
+        .forEach(type -> printImplementingType(out, schema, sourceName, "type", type));
+    types.stream()
+        .filter(EnumTypeDefinition.class::isInstance)
+        .forEach(type -> printEnum(out, schema, (EnumTypeDefinition) type));
+  }
+
+  private boolean needsSchemaPrinted(AstSchema schema) {
+    // when serializing a GraphQL schema using the type system language, a
+    // schema definition should be omitted if only uses the default root type names.
+    return includeSchemaDefinition
+        || !"Query".equals(schema.getQueryTypeName())
+        || (schema.getMutationTypeName() != null
+            && !"Mutation".equals(schema.getMutationTypeName()))
+        || (schema.getSubscriptionTypeName() != null
+            && !"Subscription".equals(schema.getSubscriptionTypeName()));
+  }
+
+  private void printSchemaElement(PrintWriter out, AstSchema schema) {
+    var schemaDirectives = schema.getSchemaDirectives();
+
+    out.append("schema");
+    printDirectivesOrSpace(out, schema, schemaDirectives);
+    out.append("{\n");
+
+    if (schema.getQueryTypeName() != null) {
+      out.append("  query: ").append(schema.getQueryTypeName()).append("\n");
+    }
+    if (schema.getMutationTypeName() != null) {
+      out.append("  mutation: ").append(schema.getMutationTypeName()).append("\n");
+    }
+    if (schema.getSubscriptionTypeName() != null) {
+      out.append("  subscription: ").append(schema.getSubscriptionTypeName()).append("\n");
+    }
+
+    out.append("}\n\n");
+  }
+
+  private void printScalar(PrintWriter out, AstSchema schema, ScalarTypeDefinition type) {
+    printComments(out, type, "");
+    out.append("scalar ").append(type.getName());
+    printDirectives(out, schema, schema.getDirectives(type), false);
+    out.append("\n\n");
+  }
+
+  private void printImplementingType(
+      PrintWriter out,
+      AstSchema schema,
+      String sourceName,
+      String keyword,
+      TypeDefinition<?> typeDefinition) {
+    var type = (ImplementingTypeDefinition<?>) typeDefinition;
+    var directives = schema.getDirectives(type);
+
+    printComments(out, (AbstractDescribedNode<?>) typeDefinition, "");
+    out.append(keyword).append(" ").append(type.getName());
+    var interfaceNames = typeNames(schema.getImplements(type)).distinct().sorted().toList();
+    if (!interfaceNames.isEmpty()) {
+      out.append(" implements ");
+      printJoined(out, interfaceNames, " & ");
+    }
+    printDirectivesOrSpace(out, schema, directives);
+
+    printFieldDefinitions(out, schema, sourceName, schema.getFieldDefinitions(type));
+    out.append("\n\n");
+  }
+
+  private void printUnion(PrintWriter out, AstSchema schema, UnionTypeDefinition type) {
+    printComments(out, type, "");
+    out.append("union ").append(type.getName());
+    printDirectives(out, schema, schema.getDirectives(type), false);
+    out.append(" = ");
+    var memberTypeNames = typeNames(schema.getMemberTypes(type)).distinct();
+    if (!skipUnionTypeSorting) {
+      memberTypeNames = memberTypeNames.sorted();
+    }
+    printJoined(out, memberTypeNames.toList(), " | ");
+    out.append("\n\n");
+  }
+
+  private void printInput(PrintWriter out, AstSchema schema, InputObjectTypeDefinition type) {
+    var directives = schema.getDirectives(type);
+
+    printComments(out, type, "");
+    out.append("input ").append(type.getName());
+    printDirectivesOrSpace(out, schema, directives);
+    var inputObjectFields = schema.getInputValueDefinitions(type);
+    if (!inputObjectFields.isEmpty()) {
+      out.append("{\n");
+      inputObjectFields.stream()
+          .sorted(BY_NAME)
+          .forEach(
+              fd -> {
+                printComments(out, fd, "  ");
+                out.append("  ").append(fd.getName()).append(": ");
+                printType(out, fd.getType());
+                if (fd.getDefaultValue() != null) {
+                  out.append(" = ").append(AstPrinter.printAst(fd.getDefaultValue()));
+                }
+                printDirectives(out, schema, fd.getDirectives(), false);
+                out.append("\n");
+              });
+      out.append("}");
+    }
+    out.append("\n\n");
+  }
+
+  private void printEnum(PrintWriter out, AstSchema schema, EnumTypeDefinition type) {
+    printComments(out, type, "");
+    out.append("enum ").append(type.getName());
+    printDirectives(out, schema, schema.getDirectives(type), false);
+    var values = schema.getEnumValueDefinitions(type).stream().sorted(BY_NAME).toList();
+    if (!values.isEmpty()) {
+      out.append(" {\n");
+      for (var enumValueDefinition : values) {
+        printComments(out, enumValueDefinition, "  ");
+        out.append("  ").append(enumValueDefinition.getName());
+        printDirectives(out, schema, enumValueDefinition.getDirectives(), false);
+        out.append("\n");
+      }
+      out.append("}");
+    }
+    out.append("\n\n");
+  }
+
+  private void printFieldDefinitions(
+      PrintWriter out,
+      AstSchema schema,
+      String sourceName,
+      List<FieldDefinition> fieldDefinitions) {
+    if (fieldDefinitions.isEmpty()) {
+      return;
+    }
+
+    out.append("{\n");
+    fieldDefinitions.stream()
+        .filter(fd -> isDefinedIn(fd, sourceName))
+        .sorted(BY_NAME)
+        .forEach(
+            fd -> {
+              printComments(out, fd, "  ");
+              out.append("  ").append(fd.getName());
+              printArgs(out, schema, fd.getInputValueDefinitions(), !skipFieldArgumentSorting);
+              out.append(": ");
+              printType(out, fd.getType());
+              printDirectives(out, schema, fd.getDirectives(), false);
+              out.append("\n");
+            });
+    out.append("}");
+  }
+
+  private static boolean isDefinedIn(Node<?> node, String sourceName) {
+    // If we cannot find the source location, just print the node
+    return node.getSourceLocation() == null
+        || sourceName.equals(node.getSourceLocation().getSourceName());
+  }
+
+  private static Stream<String> typeNames(List<Type> types) {
+    return types.stream()
+        .filter(TypeName.class::isInstance)
+        .map(type -> ((TypeName) type).getName());
+  }
+
+  /** Prints the type in the same way as AstPrinter */
+  private static void printType(PrintWriter out, Type<?> type) {
+    if (type instanceof NonNullType nonNullType) {
+      printType(out, nonNullType.getType());
+      out.append('!');
+    } else if (type instanceof ListType listType) {
+      out.append('[');
+      printType(out, listType.getType());
+      out.append(']');
+    } else {
+      out.append(((TypeName) type).getName());
+    }
+  }
+
+  private static void printJoined(PrintWriter out, List<String> values, String separator) {
+    for (var i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        out.append(separator);
+      }
+      out.append(values.get(i));
+    }
+  }
+
+  private void printArgs(
+      PrintWriter out,
+      AstSchema schema,
+      List<InputValueDefinition> arguments,
+      boolean sortArguments) {
+    var hasDescriptions = arguments.stream().anyMatch(this::hasDescription);
+    var halfPrefix = hasDescriptions ? "  " : "";
+    var prefix = hasDescriptions ? "    " : "";
+    var count = 0;
+
+    if (sortArguments) {
+      arguments = arguments.stream().sorted(BY_NAME).toList();
+    }
+    for (var argument : arguments) {
+      out.append(count == 0 ? "(" : ", ");
+      if (hasDescriptions) {
+        out.append("\n");
+      }
+      printComments(out, argument, prefix);
+
+      out.append(prefix).append(argument.getName()).append(": ");
+      printType(out, argument.getType());
+      if (argument.getDefaultValue() != null) {
+        out.append(" = ").append(AstPrinter.printAst(argument.getDefaultValue()));
+      }
+
+      // Directives on arguments are printed in the original order
+      for (var directive : argument.getDirectives()) {
+        out.append(" ");
+        printDirective(out, schema, directive);
+      }
+
+      count++;
+    }
+    if (count > 0) {
+      if (hasDescriptions) {
+        out.append("\n");
+      }
+      out.append(halfPrefix).append(")");
+    }
+  }
+
+  /** Prints a space instead of the directives if there are no directives */
+  private void printDirectivesOrSpace(
+      PrintWriter out, AstSchema schema, List<Directive> directives) {
+    if (directives.isEmpty()) {
+      out.append(" ");
+    } else {
+      printDirectives(out, schema, directives, true);
+    }
+  }
+
+  private void printDirectives(
+      PrintWriter out, AstSchema schema, List<Directive> directives, boolean directivesOnOwnLine) {
+    if (directives.isEmpty()) {
+      return;
+    }
+    out.append(directivesOnOwnLine ? "\n" : " ");
+
+    directives = directives.stream().sorted(BY_NAME).toList();
+    for (var i = 0; i < directives.size(); i++) {
+      printDirective(out, schema, directives.get(i));
+      if (directivesOnOwnLine) {
+        out.append("\n");
+      } else if (i < directives.size() - 1) {
+        out.append(" ");
+      }
+    }
+  }
+
+  private void printDirective(PrintWriter out, AstSchema schema, Directive directive) {
+    out.append("@").append(directive.getName());
+
+    var directiveDefinition = schema.getDirectiveDefinition(directive.getName());
+    var args =
+        directive.getArguments().stream()
+            .filter(arg -> !sameAsDefaultValue(directiveDefinition, arg))
+            .sorted(BY_NAME)
+            .toList();
+    if (!args.isEmpty()) {
+      out.append("(");
+      for (var i = 0; i < args.size(); i++) {
+        var arg = args.get(i);
+        out.append(arg.getName()).append(": ").append(AstPrinter.printAst(arg.getValue()));
+        if (i < args.size() - 1) {
+          out.append(", ");
+        }
+      }
+      out.append(")");
+    }
+  }
+
+  private boolean sameAsDefaultValue(DirectiveDefinition directiveDefinition, Argument arg) {
+    if (directiveDefinition == null) {
+      return false;
+    }
+    return directiveDefinition.getInputValueDefinitions().stream()
+        .filter(definition -> definition.getName().equals(arg.getName()))
+        .map(InputValueDefinition::getDefaultValue)
+        .filter(Objects::nonNull)
+        .anyMatch(defaultValue -> arg.getValue().toString().equals(defaultValue.toString()));
+  }
+
+  private void printDirectiveDefinition(
+      PrintWriter out, AstSchema schema, DirectiveDefinition directive) {
+    printComments(out, directive, "");
+
+    out.append("directive @").append(directive.getName());
+
+    printArgs(out, schema, directive.getInputValueDefinitions(), true);
+
+    if (directive.isRepeatable()) {
+      out.append(" repeatable");
+    }
+
+    out.append(" on ");
+
+    var locations =
+        directive.getDirectiveLocations().stream()
+            .map(DirectiveLocation::getName)
+            .distinct()
+            .sorted(Comparator.comparingInt(AstSchemaPrinter::locationOrder))
+            .toList();
+    printJoined(out, locations, " | ");
+  }
+
+  /** Directive locations are printed in the same order as the introspection enum */
+  private static int locationOrder(String locationName) {
+    try {
+      return Introspection.DirectiveLocation.valueOf(locationName).ordinal();
+    } catch (IllegalArgumentException e) {
+      return Integer.MAX_VALUE;
+    }
+  }
+
+  private void printComments(PrintWriter out, AbstractDescribedNode<?> node, String prefix) {
+    getDocumentation(node).print(out, prefix, descriptionsAsHashComments);
+  }
+
+  private boolean hasDescription(AbstractDescribedNode<?> node) {
+    return !getDocumentation(node).isNullOrEmpty();
+  }
+
+  /** The documentation of each node is only extracted once, also for all the source files */
+  private DescriptionAndComments getDocumentation(AbstractDescribedNode<?> node) {
+    return printCache.getDocumentation(node, AstSchemaPrinter::extractDocumentation);
+  }
+
+  private static DescriptionAndComments extractDocumentation(AbstractDescribedNode<?> node) {
+    var returnValue = new DescriptionAndComments();
+    returnValue.comments(node.getComments());
+
+    Optional.ofNullable(node.getDescription())
+        .map(Description::getContent)
+        .filter(d -> !d.isBlank())
+        .ifPresent(returnValue::description);
+
+    return returnValue;
+  }
+}
@@ -0,0 +1,158 @@
+package sortgraphql.sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits the content of a schema file into chunks that can be parsed separately. The chunks are
+ * only split between top-level definitions, where a new line starts with a definition keyword or a
+ * description. Strings, block strings and comments are skipped, and comments before a definition
+ * stay in the same chunk as the definition.
+ *
+ * <p>Only a line feed is counted as a line break. A text with a carriage return that is not
+ * followed by a line feed (old Mac line endings) is never split, so that it is parsed as a whole.
+ */
+class DefinitionSplitter {
+  private static final Set<String> DEFINITION_KEYWORDS =
+      Set.of(
+          "schema", "directive", "type", "interface", "union", "enum", "input", "scalar", "extend");
+
+  private final String text;
+  private final int minChunkSize;
+
+  DefinitionSplitter(String text, int minChunkSize) {
+    this.text = text;
+    this.minChunkSize = minChunkSize;
+  }
+
+  /**
+   * A part of the original text, with the line and column (both zero based) where it starts, so
+   * that the source locations can be shifted when the chunk is parsed by itself
+   */
+  record Chunk(String text, int start, int end, int line, int column) {
+    String getText() {
+      return text.substring(start, end);
+    }
+  }
+
+  /** Splits the text into chunks that are at least minChunkSize characters long */
+  List<Chunk> split() {
+    if (hasLoneCarriageReturn()) {
+      return List.of(new Chunk(text, 0, text.length(), 0, 0));
+    }
+    var splitPositions = findSplitPositions();
+    var chunks = new ArrayList<Chunk>(splitPositions.size() + 1);
+    var start = 0;
+    var line = 0;
+    var lineStart = 0;
+    for (var end : splitPositions) {
+      chunks.add(new Chunk(text, start, end, line, text.codePointCount(lineStart, start)));
+      for (var i = start; i < end; i++) {
+        if (text.charAt(i) == '\n') {
+          line++;
+          lineStart = i + 1;
+        }
+      }
+      start = end;
+    }
+    chunks.add(new Chunk(text, start, text.length(), line, text.codePointCount(lineStart, start)));
+    return chunks;
+  }
+
+  private boolean hasLoneCarriageReturn() {
+    var i = text.indexOf('\r');
+    while (i >= 0) {
+      if (i + 1 == text.length() || text.charAt(i + 1) != '\n') {
+        return true;
+      }
+      i = text.indexOf('\r', i + 2);
+    }
+    return false;
+  }
+
+  private List<Integer> findSplitPositions() {
+    var splitPositions = new ArrayList<Integer>();
+    var depth = 0;
+    var chunkStart = 0;
+    var lastTokenEnd = 0;
+    var atLineStart = true;
+    var i = 0;
+    while (i < text.length()) {
+      var c = text.charAt(i);
+      if (c == '\n') {
+        atLineStart = true;
+        i++;
+        continue;
+      }
+      if (c == ' ' || c == '\t' || c == '\r' || c == ',' || c == '\uFEFF') {
+        i++;
+        continue;
+      }
+      if (c == '#') {
+        i = skipToEndOfLine(i);
+        continue;
+      }
+      if (depth == 0
+          && atLineStart
+          && lastTokenEnd - chunkStart >= minChunkSize
+          && isDefinitionStart(i)) {
+        // Comments between the definitions belong to the next definition
+        splitPositions.add(lastTokenEnd);
+        chunkStart = lastTokenEnd;
+      }
+      atLineStart = false;
+
+      if (text.startsWith("\"\"\"", i)) {
+        i = skipBlockString(i + 3);
+      } else if (c == '"') {
+        i = skipString(i + 1);
+      } else {
+        if (c == '{' || c == '(' || c == '[') {
+          depth++;
+        } else if (c == '}' || c == ')' || c == ']') {
+          depth--;
+        }
+        i++;
+      }
+      lastTokenEnd = i;
+    }
+    return splitPositions;
+  }
+
+  private boolean isDefinitionStart(int position) {
+    if (text.charAt(position) == '"') {
+      return true;
+    }
+    var end = position;
+    while (end < text.length() && isNameCharacter(text.charAt(end))) {
+      end++;
+    }
+    return DEFINITION_KEYWORDS.contains(text.substring(position, end));
+  }
+
+  private static boolean isNameCharacter(char c) {
+    return c == '_' || (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private int skipBlockString(int i) {
+    while (i < text.length() && !text.startsWith("\"\"\"", i)) {
+      i += text.startsWith("\\\"\"\"", i) ? 4 : 1;
+    }
+    return Math.min(i + 3, text.length());
+  }
+
+  private int skipString(int i) {
+    while (i < text.length() && text.charAt(i) != '"' && text.charAt(i) != '\n') {
+      i += text.charAt(i) == '\\' ? 2 : 1;
+    }
+    return Math.min(i + 1, text.length());
+  }
+
+  private int skipToEndOfLine(int i) {
+    while (i < text.length() && text.charAt(i) != '\n') {
+      i++;
+    }
+    return i;
+  }
+}
@@ -1,8 +1,10 @@
 package sortgraphql.sort;
 
+import static graphql.util.EscapeUtil.escapeJsonString;
 import static java.util.Optional.ofNullable;
 
 import graphql.language.Comment;
+import java.io.PrintWriter;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -10,6 +12,7 @@ import java.util.Optional;
 public class DescriptionAndComments {
   private List<String> comments = List.of();
   private String description;
+  private List<String> descriptionLines = List.of();
 
   public void comments(List<Comment> commentList) {
     if (commentList == null) {
@@ -25,6 +28,7 @@ public class DescriptionAndComments {
 
   public void description(String description) {
     this.description = description;
+    this.descriptionLines = description == null ? List.of() : List.of(description.split("\n"));
   }
 
   public boolean isNullOrEmpty() {
@@ -39,4 +43,42 @@ public class DescriptionAndComments {
   public Optional<String> getDescription() {
     return ofNullable(description);
   }
+
+  /** The lines of the description, split once when the description is set */
+  public List<String> getDescriptionLines() {
+    return descriptionLines;
+  }
+
+  /**
+   * Prints the comments and then the description, the same way for both schema printers
+   *
+   * @param prefix the indentation of each line
+   * @param descriptionsAsHashComments print the description as hash comments instead of a string
+   */
+  void print(PrintWriter out, String prefix, boolean descriptionsAsHashComments) {
+    printHashLines(out, prefix, comments);
+
+    if (descriptionLines.isEmpty()) {
+      return;
+    }
+    if (descriptionsAsHashComments) {
+      printHashLines(out, prefix, descriptionLines);
+    } else if (descriptionLines.size() > 1) {
+      out.append(prefix).append("\"\"\"\n");
+      for (var line : descriptionLines) {
+        out.append(prefix).append(line).append("\n");
+      }
+      out.append(prefix).append("\"\"\"\n");
+    } else {
+      // See: https://github.com/graphql/graphql-spec/issues/148
+      var desc = escapeJsonString(descriptionLines.get(0));
+      out.append(prefix).append("\"").append(desc).append("\"\n");
+    }
+  }
+
+  private static void printHashLines(PrintWriter out, String prefix, List<String> lines) {
+    for (var line : lines) {
+      out.append(prefix).append("#").append(line).append("\n");
+    }
+  }
 }
@@ -3,7 +3,14 @@ package sortgraphql.sort;
 import graphql.language.AbstractDescribedNode;
 import graphql.schema.GraphQLDirective;
 import graphql.schema.GraphQLSchemaElement;
+import graphql.schema.GraphqlTypeComparatorEnvironment;
 import graphql.schema.GraphqlTypeComparatorRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 /** Options to use when printing a schema */
@@ -15,10 +22,23 @@ public class Options {
   private final boolean includeDirectiveDefinitions;
   private final boolean includeDefinedDirectiveDefinitions;
   private final boolean descriptionsAsHashComments;
+  private final int parallelPrintThreshold;
   private final Predicate<GraphQLDirective> includeDirective;
   private final Predicate<GraphQLSchemaElement> includeSchemaElement;
   private final GraphqlTypeComparatorRegistry comparatorRegistry;
   private final Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter;
+  private final boolean allDirectivesIncluded;
+  private final boolean allSchemaElementsIncluded;
+  private final Set<ElementTypes> originalOrderElements;
+  private final Map<ElementTypes, Comparator<? super GraphQLSchemaElement>> comparators =
+      new ConcurrentHashMap<>();
+
+  /** The parent type and element type that a comparator is registered for */
+  record ElementTypes(Class<?> parentType, Class<?> elementType) {
+    static ElementTypes of(GraphqlTypeComparatorEnvironment environment) {
+      return new ElementTypes(environment.getParentType(), environment.getElementType());
+    }
+  }
 
   Options(
       boolean includeIntrospectionTypes,
@@ -27,10 +47,14 @@ public class Options {
       boolean includeDirectiveDefinitions,
       boolean includeDefinedDirectiveDefinitions,
       boolean descriptionsAsHashComments,
+      int parallelPrintThreshold,
       Predicate<GraphQLDirective> includeDirective,
       Predicate<GraphQLSchemaElement> includeSchemaElement,
       GraphqlTypeComparatorRegistry comparatorRegistry,
-      Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter) {
+      Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter,
+      boolean allDirectivesIncluded,
+      boolean allSchemaElementsIncluded,
+      Set<ElementTypes> originalOrderElements) {
     this.includeIntrospectionTypes = includeIntrospectionTypes;
     this.includeScalars = includeScalars;
     this.includeSchemaDefinition = includeSchemaDefinition;
@@ -38,9 +62,13 @@ public class Options {
     this.includeDefinedDirectiveDefinitions = includeDefinedDirectiveDefinitions;
     this.includeDirective = includeDirective;
     this.descriptionsAsHashComments = descriptionsAsHashComments;
+    this.parallelPrintThreshold = parallelPrintThreshold;
     this.comparatorRegistry = comparatorRegistry;
     this.includeSchemaElement = includeSchemaElement;
     this.nodeDescriptionFilter = nodeDescriptionFilter;
+    this.allDirectivesIncluded = allDirectivesIncluded;
+    this.allSchemaElementsIncluded = allSchemaElementsIncluded;
+    this.originalOrderElements = Set.copyOf(originalOrderElements);
   }
 
   public boolean isIncludeIntrospectionTypes() {
@@ -75,6 +103,10 @@ public class Options {
     return descriptionsAsHashComments;
   }
 
+  public int getParallelPrintThreshold() {
+    return parallelPrintThreshold;
+  }
+
   public GraphqlTypeComparatorRegistry getComparatorRegistry() {
     return comparatorRegistry;
   }
@@ -82,4 +114,54 @@ public class Options {
   public Predicate<AbstractDescribedNode<?>> getNodeDescriptionFilter() {
     return nodeDescriptionFilter;
   }
+
+  /**
+   * The comparator for the elements of a parent type. The comparator is only looked up in the
+   * registry the first time.
+   */
+  public Comparator<? super GraphQLSchemaElement> getComparator(
+      Class<? extends GraphQLSchemaElement> parentType,
+      Class<? extends GraphQLSchemaElement> elementType) {
+    return comparators.computeIfAbsent(
+        new ElementTypes(parentType, elementType),
+        elementTypes ->
+            comparatorRegistry.getComparator(
+                GraphqlTypeComparatorEnvironment.newEnvironment()
+                    .parentType(parentType)
+                    .elementType(elementType)
+                    .build()));
+  }
+
+  /**
+   * Sorts the elements of a parent type. The original list is returned if the elements should keep
+   * their original order.
+   */
+  public <T extends GraphQLSchemaElement> List<T> sort(
+      List<T> elements,
+      Class<? extends GraphQLSchemaElement> parentType,
+      Class<? extends GraphQLSchemaElement> elementType) {
+    if (elements.size() < 2
+        || originalOrderElements.contains(new ElementTypes(parentType, elementType))) {
+      return elements;
+    }
+    var sortedElements = new ArrayList<>(elements);
+    sortedElements.sort(getComparator(parentType, elementType));
+    return sortedElements;
+  }
+
+  /** Removes the elements that should not be printed, unless all elements are printed */
+  public <T extends GraphQLSchemaElement> List<T> filterIncluded(List<T> elements) {
+    if (allSchemaElementsIncluded) {
+      return elements;
+    }
+    return elements.stream().filter(includeSchemaElement).toList();
+  }
+
+  public boolean isIncluded(GraphQLSchemaElement element) {
+    return allSchemaElementsIncluded || includeSchemaElement.test(element);
+  }
+
+  public boolean isDirectiveIncluded(GraphQLDirective directive) {
+    return allDirectivesIncluded || includeDirective.test(directive);
+  }
 }
@@ -3,9 +3,14 @@ package sortgraphql.sort;
 import graphql.language.AbstractDescribedNode;
 import graphql.schema.*;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 
 public class OptionsBuilder {
+  private static final Predicate<GraphQLDirective> ALL_DIRECTIVES = directive -> true;
+  private static final Predicate<GraphQLSchemaElement> ALL_SCHEMA_ELEMENTS = element -> true;
+
   private final DefaultGraphqlTypeComparatorRegistry.Builder comparatorRegistryBuilder =
       DefaultGraphqlTypeComparatorRegistry.newComparators();
   private boolean includeIntrospectionTypes;
@@ -14,8 +19,10 @@ public class OptionsBuilder {
   private boolean includeDirectiveDefinitions;
   private boolean includeDefinedDirectiveDefinitions;
   private boolean descriptionsAsHashComments;
-  private Predicate<GraphQLDirective> includeDirective = directive -> true;
-  private Predicate<GraphQLSchemaElement> includeSchemaElement = element -> true;
+  private int parallelPrintThreshold;
+  private final Set<Options.ElementTypes> originalOrderElements = new HashSet<>();
+  private Predicate<GraphQLDirective> includeDirective = ALL_DIRECTIVES;
+  private Predicate<GraphQLSchemaElement> includeSchemaElement = ALL_SCHEMA_ELEMENTS;
   private Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter = node -> true;
 
   private OptionsBuilder() {}
@@ -27,7 +34,8 @@ public class OptionsBuilder {
         .setIncludeSchemaDefinition(false)
         .setIncludeDirectiveDefinitions(true)
         .setIncludeDefinedDirectiveDefinitions(false)
-        .setDescriptionsAsHashComments(false);
+        .setDescriptionsAsHashComments(false)
+        .setParallelPrintThreshold(1000);
   }
 
   /** This will allow you to include introspection types that are contained in a schema */
@@ -90,6 +98,15 @@ public class OptionsBuilder {
     return this;
   }
 
+  /**
+   * The types are printed in parallel if the printer has more than one thread and at least this
+   * many types are printed. Printing a few types in parallel costs more than it saves.
+   */
+  public OptionsBuilder setParallelPrintThreshold(int parallelPrintThreshold) {
+    this.parallelPrintThreshold = parallelPrintThreshold;
+    return this;
+  }
+
   /**
    * This is a Predicate that decides whether a directive element is printed.
    *
@@ -128,6 +145,15 @@ public class OptionsBuilder {
     return this;
   }
 
+  /**
+   * The elements in the environment are printed in their original order. The printer does not sort
+   * those elements at all, instead of sorting them with a comparator that finds them all equal.
+   */
+  public OptionsBuilder keepOriginalOrder(GraphqlTypeComparatorEnvironment environment) {
+    originalOrderElements.add(Options.ElementTypes.of(environment));
+    return addComparatorToRegistry(environment, (o1, o2) -> 0);
+  }
+
   /** This is a general purpose Predicate that decides whether any type of node is printed ever. */
   public OptionsBuilder setNodeDescriptionFilter(
       Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter) {
@@ -143,9 +169,13 @@ public class OptionsBuilder {
         includeDirectiveDefinitions,
         includeDefinedDirectiveDefinitions,
         descriptionsAsHashComments,
+        parallelPrintThreshold,
         includeDirective,
         includeSchemaElement,
         comparatorRegistryBuilder.build(),
-        nodeDescriptionFilter);
+        nodeDescriptionFilter,
+        includeDirective == ALL_DIRECTIVES,
+        includeSchemaElement == ALL_SCHEMA_ELEMENTS,
+        originalOrderElements);
   }
 }
@@ -0,0 +1,116 @@
+package sortgraphql.sort;
+
+import graphql.language.BooleanValue;
+import graphql.language.EnumValue;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.NullValue;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.InputValueWithState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Printed parts of a schema that are the same wherever they occur, such as applied directives and
+ * default values, and the documentation of each schema element. The parts are printed once and
+ * reused, also between the source files of the same schema.
+ *
+ * <p>A cache can only be shared between printers that sort and print the cached parts in the same
+ * way.
+ */
+public class PrintCache {
+  private final Map<List<String>, String> appliedDirectives = new ConcurrentHashMap<>();
+  private final Map<Object, DescriptionAndComments> documentation = new ConcurrentHashMap<>();
+  private final Map<LiteralKey, String> literals = new ConcurrentHashMap<>();
+
+  /** The input type and the literal value, compared without printing the value */
+  private record LiteralKey(String type, Class<?> valueClass, Object value) {}
+
+  /**
+   * The printed applied directive. Directives with the same name and argument values are only
+   * printed once.
+   */
+  String getAppliedDirective(
+      GraphQLDirective directive, Function<GraphQLDirective, String> directivePrinter) {
+    var key = appliedDirectiveKey(directive);
+    if (key == null) {
+      return directivePrinter.apply(directive);
+    }
+    return appliedDirectives.computeIfAbsent(key, k -> directivePrinter.apply(directive));
+  }
+
+  /**
+   * The directive name and the set argument values. Null if any value is not a literal from the
+   * schema file, since only literals can be compared reliably.
+   */
+  private static List<String> appliedDirectiveKey(GraphQLDirective directive) {
+    var key = new ArrayList<String>();
+    key.add(directive.getName());
+    for (var argument : directive.getArguments()) {
+      if (argument.hasSetValue()) {
+        var value = argument.getArgumentValue();
+        if (!value.isLiteral()) {
+          return null;
+        }
+        key.add(argument.getName());
+        key.add(String.valueOf(value.getValue()));
+      }
+    }
+    return key;
+  }
+
+  /**
+   * The description and comments of a schema element or a definition node. Schema elements and
+   * nodes are only equal to themselves, so the documentation is extracted once per element.
+   */
+  <T> DescriptionAndComments getDocumentation(
+      T element, Function<T, DescriptionAndComments> documentationExtractor) {
+    return documentation.computeIfAbsent(element, key -> documentationExtractor.apply(element));
+  }
+
+  /**
+   * The printed value of an argument or input field. Literal values of the same input type, such as
+   * the default value of {@code first: Int = 10}, are only printed once.
+   */
+  String getLiteral(
+      InputValueWithState value,
+      GraphQLInputType type,
+      BiFunction<InputValueWithState, GraphQLInputType, String> literalPrinter) {
+    if (!value.isLiteral()) {
+      return literalPrinter.apply(value, type);
+    }
+    var key = new LiteralKey(GraphQLTypeUtil.simplePrint(type), valueClass(value), rawValue(value));
+    return literals.computeIfAbsent(key, k -> literalPrinter.apply(value, type));
+  }
+
+  private static Class<?> valueClass(InputValueWithState value) {
+    return value.getValue() == null ? null : value.getValue().getClass();
+  }
+
+  /** Scalar literals are compared by value, lists and objects by their content */
+  private static Object rawValue(InputValueWithState value) {
+    var literal = (Value<?>) value.getValue();
+    if (literal instanceof IntValue intValue) {
+      return intValue.getValue();
+    } else if (literal instanceof FloatValue floatValue) {
+      return floatValue.getValue();
+    } else if (literal instanceof StringValue stringValue) {
+      return stringValue.getValue();
+    } else if (literal instanceof BooleanValue booleanValue) {
+      return booleanValue.isValue();
+    } else if (literal instanceof EnumValue enumValue) {
+      return enumValue.getName();
+    } else if (literal == null || literal instanceof NullValue) {
+      return null;
+    }
+    return literal.toString();
+  }
+}
@@ -1,27 +1,178 @@
 package sortgraphql.sort;
 
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.SourceLocation;
+import graphql.org.antlr.v4.runtime.CommonTokenStream;
+import graphql.org.antlr.v4.runtime.Token;
+import graphql.parser.GraphqlAntlrToLanguage;
 import graphql.parser.InvalidSyntaxException;
 import graphql.parser.MultiSourceReader;
 import graphql.parser.Parser;
+import graphql.parser.ParserEnvironment;
+import graphql.parser.ParserOptions;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import java.util.ArrayList;
+import java.util.List;
 import sortgraphql.exception.FailureException;
+import sortgraphql.util.ParallelExecutor;
 
 public class SchemaParser {
+  /** Schema files smaller than this are always parsed as a whole */
+  private static final int MIN_CHUNK_SIZE = 256 * 1024;
+
+  private final ParserOptions parserOptions;
+  private final boolean tokenLimited;
+  private final ParallelExecutor parallelExecutor;
+  private final int minChunkSize;
+
+  public SchemaParser() {
+    this(0, new ParallelExecutor(1));
+  }
+
+  /**
+   * @param maxTokens the maximum number of tokens in a schema file, 0 means no limit
+   * @param parallelExecutor large schema files are split into chunks that are parsed in parallel
+   */
+  public SchemaParser(int maxTokens, ParallelExecutor parallelExecutor) {
+    this(maxTokens, parallelExecutor, MIN_CHUNK_SIZE);
+  }
+
+  SchemaParser(int maxTokens, ParallelExecutor parallelExecutor, int minChunkSize) {
+    this.parserOptions = createParserOptions(maxTokens);
+    this.tokenLimited = maxTokens > 0;
+    this.parallelExecutor = parallelExecutor;
+    this.minChunkSize = minChunkSize;
+  }
+
+  /**
+   * The default parser options are meant for queries from clients, with limits on size and tokens.
+   * Schema files are trusted, so only the configured token limit is used. Source locations and
+   * comments are needed to sort the schema files, while ignored characters are never used.
+   */
+  private static ParserOptions createParserOptions(int maxTokens) {
+    return ParserOptions.getDefaultSdlParserOptions()
+        .transform(
+            builder ->
+                builder
+                    .maxTokens(maxTokens > 0 ? maxTokens : Integer.MAX_VALUE)
+                    .captureIgnoredChars(false)
+                    .captureSourceLocation(true)
+                    .captureLineComments(true));
+  }
+
   public TypeDefinitionRegistry parse(String schemaContent, String sourceName) {
+    return buildRegistry(parseDocument(schemaContent, sourceName));
+  }
+
+  public TypeDefinitionRegistry buildRegistry(Document document) {
     var schemaParser = new graphql.schema.idl.SchemaParser();
+    return schemaParser.buildRegistry(document);
+  }
+
+  public Document parseDocument(String schemaContent, String sourceName) {
+    var threads = parallelExecutor.getThreads();
+    // The token limit is for the whole file, so a file with a limit cannot be split into chunks
+    if (threads > 1 && !tokenLimited && schemaContent.length() >= 2 * minChunkSize) {
+      var chunkSize = Math.max(minChunkSize, schemaContent.length() / threads);
+      var chunks = new DefinitionSplitter(schemaContent, chunkSize).split();
+      if (chunks.size() > 1) {
+        return parseChunks(chunks, schemaContent, sourceName);
+      }
+    }
+    return parseWholeDocument(schemaContent, sourceName);
+  }
+
+  /**
+   * Parses the chunks in parallel and combines the definitions into one document. If any chunk
+   * cannot be parsed, the whole schema is parsed again so that the error is reported the same way.
+   */
+  private Document parseChunks(
+      List<DefinitionSplitter.Chunk> chunks, String schemaContent, String sourceName) {
+    List<Document> documents;
     try {
-      var parser = new Parser();
-      var multiSourceReader =
-          MultiSourceReader.newMultiSourceReader()
-              .string(schemaContent, sourceName)
-              .trackData(true)
-              .build();
-      var document = parser.parseDocument(multiSourceReader);
-
-      return schemaParser.buildRegistry(document);
+      documents =
+          parallelExecutor.map(
+              chunks,
+              chunk ->
+                  parseWithParser(
+                      new ChunkParser(chunk.line(), chunk.column()), chunk.getText(), sourceName));
+    } catch (InvalidSyntaxException e) {
+      return parseWholeDocument(schemaContent, sourceName);
+    }
+
+    var definitions = new ArrayList<Definition>();
+    documents.forEach(document -> definitions.addAll(document.getDefinitions()));
+    return documents.get(0).transform(builder -> builder.definitions(definitions));
+  }
+
+  private Document parseWholeDocument(String schemaContent, String sourceName) {
+    try {
+      return parseWithParser(new Parser(), schemaContent, sourceName);
     } catch (InvalidSyntaxException e) {
       throw new FailureException(
           String.format("Cannot parse schema '%s', %s", sourceName, e.getMessage()));
     }
   }
+
+  private Document parseWithParser(Parser parser, String schemaContent, String sourceName) {
+    var multiSourceReader =
+        MultiSourceReader.newMultiSourceReader()
+            .string(schemaContent, sourceName)
+            .trackData(true)
+            .build();
+    var parserEnvironment =
+        ParserEnvironment.newParserEnvironment()
+            .document(multiSourceReader)
+            .parserOptions(parserOptions)
+            .build();
+    return parser.parseDocument(parserEnvironment);
+  }
+
+  /**
+   * Parses a chunk of a schema file by itself. The source locations of the nodes and comments are
+   * shifted by the line and column where the chunk starts, so that they are the same as when the
+   * whole file is parsed.
+   */
+  private static class ChunkParser extends Parser {
+    private final int line;
+    private final int column;
+
+    ChunkParser(int line, int column) {
+      this.line = line;
+      this.column = column;
+    }
+
+    @Override
+    protected GraphqlAntlrToLanguage getAntlrToLanguage(
+        CommonTokenStream tokens,
+        MultiSourceReader multiSourceReader,
+        ParserEnvironment environment) {
+      return new GraphqlAntlrToLanguage(
+          tokens, multiSourceReader, environment.getParserOptions(), environment.getI18N(), null) {
+        @Override
+        protected SourceLocation getSourceLocation(Token token) {
+          return shift(super.getSourceLocation(token));
+        }
+
+        @Override
+        protected List<Comment> getCommentOnChannel(List<Token> refChannel) {
+          return super.getCommentOnChannel(refChannel).stream()
+              .map(comment -> new Comment(comment.getContent(), shift(comment.getSourceLocation())))
+              .toList();
+        }
+      };
+    }
+
+    private SourceLocation shift(SourceLocation location) {
+      if (location == null) {
+        return null;
+      }
+      // Only the first line of the chunk starts after the beginning of a line
+      var shiftedColumn =
+          location.getLine() == 1 ? location.getColumn() + column : location.getColumn();
+      return new SourceLocation(location.getLine() + line, shiftedColumn, location.getSourceName());
+    }
+  }
 }
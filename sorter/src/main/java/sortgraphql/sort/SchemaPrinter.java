@@ -5,10 +5,6 @@ import static graphql.introspection.Introspection.DirectiveLocation.ARGUMENT_DEF
 import static graphql.introspection.Introspection.DirectiveLocation.ENUM_VALUE;
 import static graphql.introspection.Introspection.DirectiveLocation.FIELD_DEFINITION;
 import static graphql.introspection.Introspection.DirectiveLocation.INPUT_FIELD_DEFINITION;
-import static graphql.util.EscapeUtil.escapeJsonString;
-import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toCollection;
 
 import graphql.GraphQLContext;
 import graphql.PublicApi;
@@ -25,30 +21,35 @@ import graphql.schema.GraphQLInputObjectField;
 import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedOutputType;
 import graphql.schema.GraphQLNamedSchemaElement;
 import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLType;
-import graphql.schema.GraphQLTypeUtil;
 import graphql.schema.GraphQLUnionType;
-import graphql.schema.GraphqlTypeComparatorEnvironment;
 import graphql.schema.InputValueWithState;
 import graphql.schema.idl.ScalarInfo;
 import graphql.schema.visibility.GraphqlFieldVisibility;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import sortgraphql.util.ParallelExecutor;
 
 /** This can print an in memory GraphQL schema back to a logical schema definition */
 @PublicApi
@@ -64,9 +65,39 @@ public class SchemaPrinter {
           .build();
 
   private final Options options;
+  private final Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter;
+  private final PrintCache printCache;
+  private final ParallelExecutor parallelExecutor;
 
   public SchemaPrinter(Options options) {
+    this(options, new PrintCache(), new ParallelExecutor(1));
+  }
+
+  /**
+   * @param options the options to use when printing
+   * @param printCache printed parts that can be shared by all the printers of the same schema
+   * @param parallelExecutor the types are printed in parallel if there are enough of them
+   */
+  public SchemaPrinter(Options options, PrintCache printCache, ParallelExecutor parallelExecutor) {
+    this(options, options.getNodeDescriptionFilter(), printCache, parallelExecutor);
+  }
+
+  /**
+   * @param options the options to use when printing, which can be shared by all printers
+   * @param nodeDescriptionFilter decides which nodes are printed, instead of the filter in the
+   *     options, such as only the nodes of one source file
+   * @param printCache printed parts that can be shared by all the printers of the same schema
+   * @param parallelExecutor the types are printed in parallel if there are enough of them
+   */
+  public SchemaPrinter(
+      Options options,
+      Predicate<AbstractDescribedNode<?>> nodeDescriptionFilter,
+      PrintCache printCache,
+      ParallelExecutor parallelExecutor) {
     this.options = options;
+    this.nodeDescriptionFilter = nodeDescriptionFilter;
+    this.printCache = printCache;
+    this.parallelExecutor = parallelExecutor;
   }
 
   /**
@@ -76,90 +107,219 @@ public class SchemaPrinter {
    * @return the logical schema definition
    */
   public String print(GraphQLSchema schema) {
+    return print(schema, schema.getAllTypesAsList(), schema.getDirectives());
+  }
+
+  /**
+   * Prints only the types and directives that belong to one source file of the schema. The index is
+   * created once per schema, so that printing each source file does not have to visit the types of
+   * all the other files.
+   *
+   * @param schema the schema in play
+   * @param sourceIndex the types and directives of the schema, grouped by source file
+   * @param sourceName the source file to print
+   * @return the logical schema definition
+   */
+  public String print(GraphQLSchema schema, SchemaSourceIndex sourceIndex, String sourceName) {
+    return print(schema, sourceIndex.getTypes(sourceName), sourceIndex.getDirectives(sourceName));
+  }
+
+  /**
+   * Prints only the types and directives that belong to one source file of the schema straight to
+   * the writer, so that the output is never stored in memory.
+   *
+   * @param schema the schema in play
+   * @param sourceIndex the types and directives of the schema, grouped by source file
+   * @param sourceName the source file to print
+   * @param writer where the logical schema definition is written
+   * @throws IOException if the writer fails
+   */
+  public void print(
+      GraphQLSchema schema, SchemaSourceIndex sourceIndex, String sourceName, Writer writer)
+      throws IOException {
+    printTo(
+        writer, schema, sourceIndex.getTypes(sourceName), sourceIndex.getDirectives(sourceName));
+  }
+
+  private String print(
+      GraphQLSchema schema, List<GraphQLNamedType> types, List<GraphQLDirective> directives) {
     var sw = new StringWriter();
-    var out = new PrintWriter(sw);
+    try {
+      printTo(sw, schema, types, directives);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not print to string", e);
+    }
+    return sw.toString();
+  }
+
+  /** The last newline is removed if the output ends with two newlines */
+  private void printTo(
+      Writer writer,
+      GraphQLSchema schema,
+      List<GraphQLNamedType> types,
+      List<GraphQLDirective> directives)
+      throws IOException {
+    var trailingNewlineWriter = new TrailingNewlineWriter(writer);
+    var out = new PrintWriter(trailingNewlineWriter);
+    print(out, schema, types, directives);
+    out.flush();
+    trailingNewlineWriter.finish();
+  }
 
+  private void print(
+      PrintWriter out,
+      GraphQLSchema schema,
+      List<GraphQLNamedType> types,
+      List<GraphQLDirective> directives) {
     var visibility = schema.getCodeRegistry().getFieldVisibility();
 
-    printSchema(out, schema);
-
-    List<GraphQLNamedType> typesAsList =
-        schema.getAllTypesAsList().stream()
-            .sorted(Comparator.comparing(GraphQLNamedType::getName))
-            .collect(toCollection(ArrayList::new));
-
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesTypeName(schema.getQueryType()),
-            type -> printObject(out, (GraphQLObjectType) type, visibility));
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesTypeName(schema.getMutationType()),
-            type -> printObject(out, (GraphQLObjectType) type, visibility));
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesTypeName(schema.getSubscriptionType()),
-            type -> printObject(out, (GraphQLObjectType) type, visibility));
-
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesClass(GraphQLScalarType.class),
-            type -> printScalar(out, (GraphQLScalarType) type));
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesClass(GraphQLInterfaceType.class),
-            type -> printInterface(out, (GraphQLInterfaceType) type, visibility));
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesClass(GraphQLUnionType.class),
-            type -> printUnion(out, (GraphQLUnionType) type));
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesClass(GraphQLInputObjectType.class),
-            type -> printInput(out, (GraphQLInputObjectType) type, visibility));
-    typesAsList =
-        removeMatchingItems(
-            typesAsList,
-            matchesClass(GraphQLObjectType.class),
-            type -> printObject(out, (GraphQLObjectType) type, visibility));
-    typesAsList.stream()
-        .filter(matchesClass(GraphQLEnumType.class))
-        .forEach(type -> printEnum(out, (GraphQLEnumType) type));
-
-    var result = sw.toString();
-    if (result.endsWith("\n\n")) {
-      result = result.substring(0, result.length() - 1);
-    }
-    return result;
-  }
-
-  private void printSchema(PrintWriter out, GraphQLSchema schema) {
+    printSchema(out, schema, directives);
+
+    var typesByKind = classifyTypes(schema, types);
+    var typeCount = typesByKind.values().stream().mapToInt(List::size).sum();
+    if (parallelExecutor.getThreads() > 1 && typeCount >= options.getParallelPrintThreshold()) {
+      printTypesInParallel(out, typesByKind, visibility);
+    } else {
+      typesByKind.forEach(
+          (kind, kindTypes) ->
+              kindTypes.forEach(type -> printNamedType(out, kind, type, visibility)));
+    }
+  }
+
+  private record KindAndType(TypeKind kind, GraphQLNamedType type) {}
+
+  /**
+   * Prints batches of consecutive types in parallel into separate buffers. The buffers are written
+   * to the output in the sorted order.
+   */
+  private void printTypesInParallel(
+      PrintWriter out,
+      Map<TypeKind, List<GraphQLNamedType>> typesByKind,
+      GraphqlFieldVisibility visibility) {
+    var sortedTypes = new ArrayList<KindAndType>();
+    typesByKind.forEach(
+        (kind, kindTypes) ->
+            kindTypes.forEach(type -> sortedTypes.add(new KindAndType(kind, type))));
+
+    // A few batches per thread evens out types of different sizes
+    var batchCount = parallelExecutor.getThreads() * 4;
+    var batchSize = Math.max(1, (sortedTypes.size() + batchCount - 1) / batchCount);
+    var batches = new ArrayList<List<KindAndType>>();
+    for (var start = 0; start < sortedTypes.size(); start += batchSize) {
+      batches.add(sortedTypes.subList(start, Math.min(start + batchSize, sortedTypes.size())));
+    }
+
+    parallelExecutor.forEachOrdered(
+        batches,
+        batch -> {
+          var sw = new StringWriter();
+          var batchOut = new PrintWriter(sw);
+          batch.forEach(
+              kindAndType ->
+                  printNamedType(batchOut, kindAndType.kind(), kindAndType.type(), visibility));
+          batchOut.flush();
+          return sw.toString();
+        },
+        out::append);
+  }
+
+  /** The kinds of types, in the order that they are printed */
+  private enum TypeKind {
+    QUERY,
+    MUTATION,
+    SUBSCRIPTION,
+    SCALAR,
+    INTERFACE,
+    UNION,
+    INPUT,
+    OBJECT,
+    ENUM
+  }
+
+  /**
+   * Groups the printed types by kind in one pass over the types. The types of each kind are sorted
+   * by name.
+   */
+  private Map<TypeKind, List<GraphQLNamedType>> classifyTypes(
+      GraphQLSchema schema, List<GraphQLNamedType> types) {
+    var queryTypeName = getName(schema.getQueryType());
+    var mutationTypeName = getName(schema.getMutationType());
+    var subscriptionTypeName = getName(schema.getSubscriptionType());
+
+    var typesByKind = new EnumMap<TypeKind, List<GraphQLNamedType>>(TypeKind.class);
+    for (var type : types) {
+      if (!options.isIncluded(type)) {
+        continue;
+      }
+      var name = type.getName();
+      TypeKind kind;
+      if (name.equals(queryTypeName)) {
+        kind = TypeKind.QUERY;
+      } else if (name.equals(mutationTypeName)) {
+        kind = TypeKind.MUTATION;
+      } else if (name.equals(subscriptionTypeName)) {
+        kind = TypeKind.SUBSCRIPTION;
+      } else if (type instanceof GraphQLScalarType) {
+        kind = TypeKind.SCALAR;
+      } else if (type instanceof GraphQLInterfaceType) {
+        kind = TypeKind.INTERFACE;
+      } else if (type instanceof GraphQLUnionType) {
+        kind = TypeKind.UNION;
+      } else if (type instanceof GraphQLInputObjectType) {
+        kind = TypeKind.INPUT;
+      } else if (type instanceof GraphQLObjectType) {
+        kind = TypeKind.OBJECT;
+      } else if (type instanceof GraphQLEnumType) {
+        kind = TypeKind.ENUM;
+      } else {
+        continue;
+      }
+      typesByKind.computeIfAbsent(kind, k -> new ArrayList<>()).add(type);
+    }
+    typesByKind
+        .values()
+        .forEach(list -> list.sort(Comparator.comparing(GraphQLNamedType::getName)));
+    return typesByKind;
+  }
+
+  private static String getName(GraphQLNamedType type) {
+    return type == null ? null : type.getName();
+  }
+
+  private void printNamedType(
+      PrintWriter out, TypeKind kind, GraphQLNamedType type, GraphqlFieldVisibility visibility) {
+    switch (kind) {
+      case QUERY, MUTATION, SUBSCRIPTION, OBJECT ->
+          printObject(out, (GraphQLObjectType) type, visibility);
+      case SCALAR -> printScalar(out, (GraphQLScalarType) type);
+      case INTERFACE -> printInterface(out, (GraphQLInterfaceType) type, visibility);
+      case UNION -> printUnion(out, (GraphQLUnionType) type);
+      case INPUT -> printInput(out, (GraphQLInputObjectType) type, visibility);
+      case ENUM -> printEnum(out, (GraphQLEnumType) type);
+    }
+  }
+
+  private void printSchema(
+      PrintWriter out, GraphQLSchema schema, List<GraphQLDirective> schemaDirectives) {
     if (needsSchemaPrinted(schema)) {
       printSchemaElement(out, schema);
     }
 
     if (options.isIncludeDirectiveDefinitions()) {
-      var directives = getSchemaDirectives(schema);
+      var directives = getSchemaDirectives(schemaDirectives);
       if (!directives.isEmpty()) {
-        out.append(directiveDefinitions(directives));
+        printDirectiveDefinitions(out, directives);
       }
     } else if (options.isIncludeDefinedDirectiveDefinitions()) {
       var directives =
-          getSchemaDirectives(schema).stream()
+          getSchemaDirectives(schemaDirectives).stream()
               .filter(
                   directive ->
                       directive.getDefinition() != null
                           && directive.getDefinition().getSourceLocation() != null)
               .toList();
       if (!directives.isEmpty()) {
-        out.append(directiveDefinitions(directives));
+        printDirectiveDefinitions(out, directives);
       }
     }
   }
@@ -195,26 +355,23 @@ public class SchemaPrinter {
             .sorted(Comparator.comparing(GraphQLDirective::getName))
             .toList();
 
-    out.format(
-            "schema%s{",
-            schemaDirectives.isEmpty()
-                ? " "
-                : directivesString(GraphQLSchemaElement.class, schemaDirectives))
-        .append("\n");
+    out.append("schema");
+    printDirectivesOrSpace(out, GraphQLSchemaElement.class, schemaDirectives);
+    out.append("{\n");
 
     var queryType = schema.getQueryType();
     if (queryType != null) {
-      out.format("  query: %s", queryType.getName()).append("\n");
+      out.append("  query: ").append(queryType.getName()).append("\n");
     }
 
     var mutationType = schema.getMutationType();
     if (mutationType != null) {
-      out.format("  mutation: %s", mutationType.getName()).append("\n");
+      out.append("  mutation: ").append(mutationType.getName()).append("\n");
     }
 
     var subscriptionType = schema.getSubscriptionType();
     if (subscriptionType != null) {
-      out.format("  subscription: %s", subscriptionType.getName()).append("\n");
+      out.append("  subscription: ").append(subscriptionType.getName()).append("\n");
     }
 
     out.append("}\n\n");
@@ -224,14 +381,13 @@ public class SchemaPrinter {
     if (!options.isIncludeScalars() || ScalarInfo.isGraphqlSpecifiedScalar(type)) {
       return;
     }
-    if (!options.getNodeDescriptionFilter().test(type.getDefinition())) {
+    if (!nodeDescriptionFilter.test(type.getDefinition())) {
       return;
     }
     printComments(out, type, "");
-    out.format(
-            "scalar %s%s",
-            type.getName(), directivesString(GraphQLScalarType.class, type.getDirectives()))
-        .append("\n\n");
+    out.append("scalar ").append(type.getName());
+    printDirectives(out, GraphQLScalarType.class, type.getDirectives());
+    out.append("\n\n");
   }
 
   private void printInterface(
@@ -239,45 +395,15 @@ public class SchemaPrinter {
     if (isIntrospectionType(type)) {
       return;
     }
-    if (!options.getNodeDescriptionFilter().test(type.getDefinition())) {
+    if (!nodeDescriptionFilter.test(type.getDefinition())) {
       return;
     }
     printComments(out, type, "");
-    if (type.getInterfaces().isEmpty()) {
-      out.format(
-          "interface %s%s",
-          type.getName(),
-          type.getDirectives().isEmpty()
-              ? " "
-              : directivesString(GraphQLInterfaceType.class, type.getDirectives()));
-    } else {
+    out.append("interface ").append(type.getName());
+    printImplements(out, GraphQLInterfaceType.class, type.getInterfaces());
+    printDirectivesOrSpace(out, GraphQLInterfaceType.class, type.getDirectives());
 
-      var environment =
-          GraphqlTypeComparatorEnvironment.newEnvironment()
-              .parentType(GraphQLInterfaceType.class)
-              .elementType(GraphQLOutputType.class)
-              .build();
-      var implementsComparator = options.getComparatorRegistry().getComparator(environment);
-
-      var interfaceNames =
-          type.getInterfaces().stream().sorted(implementsComparator).map(GraphQLNamedType::getName);
-      out.format(
-          "interface %s implements %s%s",
-          type.getName(),
-          interfaceNames.collect(joining(" & ")),
-          type.getDirectives().isEmpty()
-              ? " "
-              : directivesString(GraphQLInterfaceType.class, type.getDirectives()));
-    }
-
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLInterfaceType.class)
-            .elementType(GraphQLFieldDefinition.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
-    printFieldDefinitions(out, comparator, visibility.getFieldDefinitions(type));
+    printFieldDefinitions(out, GraphQLInterfaceType.class, visibility.getFieldDefinitions(type));
     out.append("\n\n");
   }
 
@@ -285,22 +411,15 @@ public class SchemaPrinter {
     if (isIntrospectionType(type)) {
       return;
     }
-    if (!options.getNodeDescriptionFilter().test(type.getDefinition())) {
+    if (!nodeDescriptionFilter.test(type.getDefinition())) {
       return;
     }
 
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLUnionType.class)
-            .elementType(GraphQLOutputType.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
     printComments(out, type, "");
-    out.format(
-        "union %s%s = ",
-        type.getName(), directivesString(GraphQLUnionType.class, type.getDirectives()));
-    var types = type.getTypes().stream().sorted(comparator).toList();
+    out.append("union ").append(type.getName());
+    printDirectives(out, GraphQLUnionType.class, type.getDirectives());
+    out.append(" = ");
+    var types = options.sort(type.getTypes(), GraphQLUnionType.class, GraphQLOutputType.class);
     for (var i = 0; i < types.size(); i++) {
       var objectType = types.get(i);
       if (i > 0) {
@@ -316,39 +435,30 @@ public class SchemaPrinter {
     if (isIntrospectionType(type)) {
       return;
     }
-    if (!options.getNodeDescriptionFilter().test(type.getDefinition())) {
+    if (!nodeDescriptionFilter.test(type.getDefinition())) {
       return;
     }
     printComments(out, type, "");
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLInputObjectType.class)
-            .elementType(GraphQLInputObjectField.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
-    out.format(
-        "input %s%s",
-        type.getName(),
-        type.getDirectives().isEmpty()
-            ? " "
-            : directivesString(GraphQLInputObjectType.class, type.getDirectives()));
+    out.append("input ").append(type.getName());
+    printDirectivesOrSpace(out, GraphQLInputObjectType.class, type.getDirectives());
     var inputObjectFields = visibility.getFieldDefinitions(type);
     if (!inputObjectFields.isEmpty()) {
       out.append("{\n");
-      inputObjectFields.stream()
-          .filter(options.getIncludeSchemaElement())
-          .sorted(comparator)
+      options
+          .sort(
+              options.filterIncluded(inputObjectFields),
+              GraphQLInputObjectType.class,
+              GraphQLInputObjectField.class)
           .forEach(
               fd -> {
                 printComments(out, fd, "  ");
-                out.format("  %s: %s", fd.getName(), typeString(fd.getType()));
+                out.append("  ").append(fd.getName()).append(": ");
+                printType(out, fd.getType());
                 if (fd.hasSetDefaultValue()) {
                   var defaultValue = fd.getInputFieldDefaultValue();
-                  var astValue = printAst(defaultValue, fd.getType());
-                  out.format(" = %s", astValue);
+                  out.append(" = ").append(printAst(defaultValue, fd.getType()));
                 }
-                out.format(directivesString(GraphQLInputObjectField.class, fd.getDirectives()));
+                printDirectives(out, GraphQLInputObjectField.class, fd.getDirectives());
                 out.append("\n");
               });
       out.append("}");
@@ -361,45 +471,15 @@ public class SchemaPrinter {
     if (isIntrospectionType(type)) {
       return;
     }
-    if (!options.getNodeDescriptionFilter().test(type.getDefinition())) {
+    if (!nodeDescriptionFilter.test(type.getDefinition())) {
       return;
     }
     printComments(out, type, "");
-    if (type.getInterfaces().isEmpty()) {
-      out.format(
-          "type %s%s",
-          type.getName(),
-          type.getDirectives().isEmpty()
-              ? " "
-              : directivesString(GraphQLObjectType.class, type.getDirectives()));
-    } else {
+    out.append("type ").append(type.getName());
+    printImplements(out, GraphQLObjectType.class, type.getInterfaces());
+    printDirectivesOrSpace(out, GraphQLObjectType.class, type.getDirectives());
 
-      var environment =
-          GraphqlTypeComparatorEnvironment.newEnvironment()
-              .parentType(GraphQLObjectType.class)
-              .elementType(GraphQLOutputType.class)
-              .build();
-      var implementsComparator = options.getComparatorRegistry().getComparator(environment);
-
-      var interfaceNames =
-          type.getInterfaces().stream().sorted(implementsComparator).map(GraphQLNamedType::getName);
-      out.format(
-          "type %s implements %s%s",
-          type.getName(),
-          interfaceNames.collect(joining(" & ")),
-          type.getDirectives().isEmpty()
-              ? " "
-              : directivesString(GraphQLObjectType.class, type.getDirectives()));
-    }
-
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLObjectType.class)
-            .elementType(GraphQLFieldDefinition.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
-    printFieldDefinitions(out, comparator, visibility.getFieldDefinitions(type));
+    printFieldDefinitions(out, GraphQLObjectType.class, visibility.getFieldDefinitions(type));
     out.append("\n\n");
   }
 
@@ -407,21 +487,15 @@ public class SchemaPrinter {
     if (isIntrospectionType(type)) {
       return;
     }
-    if (!options.getNodeDescriptionFilter().test(type.getDefinition())) {
+    if (!nodeDescriptionFilter.test(type.getDefinition())) {
       return;
     }
 
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLEnumType.class)
-            .elementType(GraphQLEnumValueDefinition.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
     printComments(out, type, "");
-    out.format(
-        "enum %s%s", type.getName(), directivesString(GraphQLEnumType.class, type.getDirectives()));
-    var values = type.getValues().stream().sorted(comparator).toList();
+    out.append("enum ").append(type.getName());
+    printDirectives(out, GraphQLEnumType.class, type.getDirectives());
+    var values =
+        options.sort(type.getValues(), GraphQLEnumType.class, GraphQLEnumValueDefinition.class);
     if (!values.isEmpty()) {
       out.append(" {\n");
       for (var enumValueDefinition : values) {
@@ -430,61 +504,34 @@ public class SchemaPrinter {
         if (enumValueDefinition.isDeprecated()) {
           enumValueDirectives = addDeprecatedDirectiveIfNeeded(enumValueDirectives);
         }
-        out.format(
-                "  %s%s",
-                enumValueDefinition.getName(),
-                directivesString(GraphQLEnumValueDefinition.class, enumValueDirectives))
-            .append("\n");
+        out.append("  ").append(enumValueDefinition.getName());
+        printDirectives(out, GraphQLEnumValueDefinition.class, enumValueDirectives);
+        out.append("\n");
       }
       out.append("}");
     }
     out.append("\n\n");
   }
 
-  private Predicate<GraphQLNamedType> matchesClass(Class<?> clazz) {
-    return type ->
-        clazz.isAssignableFrom(type.getClass()) && options.getIncludeSchemaElement().test(type);
-  }
-
-  private Predicate<GraphQLNamedType> matchesTypeName(GraphQLObjectType namedType) {
-    if (namedType == null) {
-      return testType -> false;
-    }
-    var name = namedType.getName();
-    return testType ->
-        testType.getName().equals(name) && options.getIncludeSchemaElement().test(testType);
-  }
-
-  private <T> List<T> removeMatchingItems(
-      List<T> list, Predicate<T> filter, Consumer<T> removedItemsFn) {
-    List<T> returnValue = new ArrayList<>();
-    for (var item : list) {
-      if (filter.test(item)) {
-        removedItemsFn.accept(item);
-      } else {
-        returnValue.add(item);
-      }
-    }
-    return returnValue;
-  }
-
   private boolean isIntrospectionType(GraphQLNamedType type) {
     return !options.isIncludeIntrospectionTypes() && type.getName().startsWith("__");
   }
 
   private void printFieldDefinitions(
       PrintWriter out,
-      Comparator<? super GraphQLSchemaElement> comparator,
+      Class<? extends GraphQLSchemaElement> parent,
       List<GraphQLFieldDefinition> fieldDefinitions) {
     if (fieldDefinitions.isEmpty()) {
       return;
     }
 
     out.append("{\n");
-    fieldDefinitions.stream()
-        .filter(options.getIncludeSchemaElement())
-        .filter(fd -> options.getNodeDescriptionFilter().test(fd.getDefinition()))
-        .sorted(comparator)
+    var printedFieldDefinitions =
+        options.filterIncluded(fieldDefinitions).stream()
+            .filter(fd -> nodeDescriptionFilter.test(fd.getDefinition()))
+            .toList();
+    options
+        .sort(printedFieldDefinitions, parent, GraphQLFieldDefinition.class)
         .forEach(
             fd -> {
               printComments(out, fd, "  ");
@@ -493,130 +540,146 @@ public class SchemaPrinter {
                 fieldDirectives = addDeprecatedDirectiveIfNeeded(fieldDirectives);
               }
 
-              out.format(
-                      "  %s%s: %s%s",
-                      fd.getName(),
-                      argsString(GraphQLFieldDefinition.class, fd.getArguments()),
-                      typeString(fd.getType()),
-                      directivesString(GraphQLFieldDefinition.class, fieldDirectives))
-                  .append("\n");
+              out.append("  ").append(fd.getName());
+              printArgs(out, GraphQLFieldDefinition.class, fd.getArguments());
+              out.append(": ");
+              printType(out, fd.getType());
+              printDirectives(out, GraphQLFieldDefinition.class, fieldDirectives);
+              out.append("\n");
             });
     out.append("}");
   }
 
-  private static String printAst(InputValueWithState value, GraphQLInputType type) {
+  /** Literal values are only printed once for each input type */
+  private String printAst(InputValueWithState value, GraphQLInputType type) {
+    return printCache.getLiteral(value, type, SchemaPrinter::printLiteral);
+  }
+
+  private static String printLiteral(InputValueWithState value, GraphQLInputType type) {
     return AstPrinter.printAst(
         ValuesResolver.valueToLiteral(
             value, type, GraphQLContext.getDefault(), Locale.getDefault()));
   }
 
-  private List<GraphQLDirective> getSchemaDirectives(GraphQLSchema schema) {
-    return schema.getDirectives().stream()
-        .filter(options.getIncludeDirective())
-        .filter(options.getIncludeSchemaElement())
-        .filter(d -> options.getNodeDescriptionFilter().test(d.getDefinition()))
+  private List<GraphQLDirective> getSchemaDirectives(List<GraphQLDirective> directives) {
+    return directives.stream()
+        .filter(options::isDirectiveIncluded)
+        .filter(options::isIncluded)
+        .filter(d -> nodeDescriptionFilter.test(d.getDefinition()))
         .sorted(Comparator.comparing(GraphQLDirective::getName))
         .toList();
   }
 
-  String typeString(GraphQLType rawType) {
-    return GraphQLTypeUtil.simplePrint(rawType);
+  /** Prints the type in the same way as GraphQLTypeUtil.simplePrint */
+  private void printType(PrintWriter out, GraphQLType type) {
+    if (type instanceof GraphQLNonNull nonNullType) {
+      printType(out, nonNullType.getWrappedType());
+      out.append('!');
+    } else if (type instanceof GraphQLList listType) {
+      out.append('[');
+      printType(out, listType.getWrappedType());
+      out.append(']');
+    } else {
+      out.append(((GraphQLNamedType) type).getName());
+    }
   }
 
-  String argsString(Class<? extends GraphQLSchemaElement> parent, List<GraphQLArgument> arguments) {
+  private void printArgs(
+      PrintWriter out,
+      Class<? extends GraphQLSchemaElement> parent,
+      List<GraphQLArgument> arguments) {
     var hasDescriptions = arguments.stream().anyMatch(this::hasDescription);
     var halfPrefix = hasDescriptions ? "  " : "";
     var prefix = hasDescriptions ? "    " : "";
     var count = 0;
-    var sb = new StringBuilder();
 
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(parent)
-            .elementType(GraphQLArgument.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
-    arguments =
-        arguments.stream().sorted(comparator).filter(options.getIncludeSchemaElement()).toList();
+    arguments = options.sort(options.filterIncluded(arguments), parent, GraphQLArgument.class);
     for (var argument : arguments) {
-      if (count == 0) {
-        sb.append("(");
-      } else {
-        sb.append(", ");
-      }
+      out.append(count == 0 ? "(" : ", ");
       if (hasDescriptions) {
-        sb.append("\n");
+        out.append("\n");
       }
-      sb.append(printComments(argument, prefix));
+      printComments(out, argument, prefix);
 
-      sb.append(prefix)
-          .append(argument.getName())
-          .append(": ")
-          .append(typeString(argument.getType()));
+      out.append(prefix).append(argument.getName()).append(": ");
+      printType(out, argument.getType());
       if (argument.hasSetDefaultValue()) {
         var defaultValue = argument.getArgumentDefaultValue();
-        sb.append(" = ");
-        sb.append(printAst(defaultValue, argument.getType()));
+        out.append(" = ").append(printAst(defaultValue, argument.getType()));
       }
 
-      argument.getDirectives().stream()
-          .filter(options.getIncludeSchemaElement())
-          .map(this::directiveString)
-          .filter(it -> !it.isEmpty())
-          .forEach(directiveString -> sb.append(" ").append(directiveString));
+      for (var directive : argument.getDirectives()) {
+        if (isDirectivePrinted(directive)) {
+          out.append(" ");
+          printDirective(out, directive);
+        }
+      }
 
       count++;
     }
     if (count > 0) {
       if (hasDescriptions) {
-        sb.append("\n");
+        out.append("\n");
       }
-      sb.append(halfPrefix).append(")");
+      out.append(halfPrefix).append(")");
     }
-    return sb.toString();
   }
 
-  String directivesString(
-      Class<? extends GraphQLSchemaElement> parent, List<GraphQLDirective> directives) {
-    directives =
-        directives.stream()
-            // @deprecated is special - we always print it if something is deprecated
-            .filter(
-                directive ->
-                    options.getIncludeDirective().test(directive)
-                        || isDeprecatedDirective(directive))
-            .filter(options.getIncludeSchemaElement())
-            .toList();
+  private void printImplements(
+      PrintWriter out,
+      Class<? extends GraphQLSchemaElement> parent,
+      List<GraphQLNamedOutputType> interfaces) {
+    if (interfaces.isEmpty()) {
+      return;
+    }
+    out.append(" implements ");
+    var sortedInterfaces = options.sort(interfaces, parent, GraphQLOutputType.class);
+    for (var i = 0; i < sortedInterfaces.size(); i++) {
+      if (i > 0) {
+        out.append(" & ");
+      }
+      out.append(sortedInterfaces.get(i).getName());
+    }
+  }
 
+  /** Prints a space instead of the directives if there are no directives */
+  private void printDirectivesOrSpace(
+      PrintWriter out,
+      Class<? extends GraphQLSchemaElement> parent,
+      List<GraphQLDirective> directives) {
     if (directives.isEmpty()) {
-      return "";
+      out.append(" ");
+    } else {
+      printDirectives(out, parent, directives);
+    }
+  }
+
+  private void printDirectives(
+      PrintWriter out,
+      Class<? extends GraphQLSchemaElement> parent,
+      List<GraphQLDirective> directives) {
+    if (!directives.stream().allMatch(this::isDirectivePrinted)) {
+      directives = directives.stream().filter(this::isDirectivePrinted).toList();
+    }
+
+    if (directives.isEmpty()) {
+      return;
     }
-    var sb = new StringBuilder();
     if (hasDirectiveOnOwnLine(parent)) {
-      sb.append("\n");
+      out.append("\n");
     } else if (parent != GraphQLSchemaElement.class) {
-      sb.append(" ");
+      out.append(" ");
     }
 
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(parent)
-            .elementType(GraphQLDirective.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
-    directives = directives.stream().sorted(comparator).toList();
+    directives = options.sort(directives, parent, GraphQLDirective.class);
     for (var i = 0; i < directives.size(); i++) {
-      var directive = directives.get(i);
-      sb.append(directiveString(directive));
+      printDirective(out, directives.get(i));
       if (hasDirectiveOnOwnLine(parent)) {
-        sb.append("\n");
+        out.append("\n");
       } else if (i < directives.size() - 1) {
-        sb.append(" ");
+        out.append(" ");
       }
     }
-    return sb.toString();
   }
 
   private boolean hasDirectiveOnOwnLine(Class<? extends GraphQLSchemaElement> parent) {
@@ -626,15 +689,21 @@ public class SchemaPrinter {
         || parent == GraphQLInputObjectType.class;
   }
 
-  private String directiveString(GraphQLDirective directive) {
-    if (!options.getIncludeSchemaElement().test(directive)) {
-      return "";
-    }
+  private boolean isDirectivePrinted(GraphQLDirective directive) {
     // @deprecated is special - we always print it if something is deprecated
-    if (!(options.getIncludeDirective().test(directive) || isDeprecatedDirective(directive))) {
-      return "";
+    return options.isIncluded(directive)
+        && (options.isDirectiveIncluded(directive) || isDeprecatedDirective(directive));
+  }
+
+  private void printDirective(PrintWriter out, GraphQLDirective directive) {
+    if (directive.getArguments().isEmpty()) {
+      out.append("@").append(directive.getName());
+    } else {
+      out.append(printCache.getAppliedDirective(directive, this::directiveString));
     }
+  }
 
+  private String directiveString(GraphQLDirective directive) {
     var sb = new StringBuilder();
     sb.append("@").append(directive.getName());
 
@@ -650,9 +719,7 @@ public class SchemaPrinter {
           argValue = printAst(arg.getArgumentDefaultValue(), arg.getType());
         }
         if (!isNullOrEmpty(argValue)) {
-          sb.append(arg.getName());
-          sb.append(": ");
-          sb.append(argValue);
+          sb.append(arg.getName()).append(": ").append(argValue);
           if (i < args.size() - 1) {
             sb.append(", ");
           }
@@ -664,20 +731,11 @@ public class SchemaPrinter {
   }
 
   private List<GraphQLArgument> getSortedDirectiveArgument(GraphQLDirective directive) {
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLDirective.class)
-            .elementType(GraphQLArgument.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
-
-    var args = directive.getArguments();
-    args =
-        args.stream()
+    var args =
+        directive.getArguments().stream()
             .filter(arg -> arg.hasSetValue() && !sameAsDefaultValue(arg))
-            .sorted(comparator)
             .toList();
-    return args;
+    return options.sort(args, GraphQLDirective.class, GraphQLArgument.class);
   }
 
   private boolean sameAsDefaultValue(GraphQLArgument arg) {
@@ -706,103 +764,51 @@ public class SchemaPrinter {
     return directives;
   }
 
-  private String directiveDefinitions(List<GraphQLDirective> directives) {
-    var sb = new StringBuilder();
-    directives.stream()
-        .filter(options.getIncludeSchemaElement())
-        .forEach(
-            directive -> {
-              sb.append(directiveDefinition(directive));
-              sb.append("\n");
-            });
+  private void printDirectiveDefinitions(PrintWriter out, List<GraphQLDirective> directives) {
+    for (var directive : directives) {
+      if (options.isIncluded(directive)) {
+        printDirectiveDefinition(out, directive);
+        out.append("\n");
+      }
+    }
     if (!directives.isEmpty()) {
-      sb.append("\n");
+      out.append("\n");
     }
-    return sb.toString();
   }
 
-  private String directiveDefinition(GraphQLDirective directive) {
-    var sb = new StringBuilder();
-
-    var sw = new StringWriter();
-    printComments(new PrintWriter(sw), directive, "");
-
-    sb.append(sw);
-
-    sb.append("directive @").append(directive.getName());
+  private void printDirectiveDefinition(PrintWriter out, GraphQLDirective directive) {
+    printComments(out, directive, "");
 
-    var environment =
-        GraphqlTypeComparatorEnvironment.newEnvironment()
-            .parentType(GraphQLDirective.class)
-            .elementType(GraphQLArgument.class)
-            .build();
-    var comparator = options.getComparatorRegistry().getComparator(environment);
+    out.append("directive @").append(directive.getName());
 
-    var args = directive.getArguments();
-    args = args.stream().filter(options.getIncludeSchemaElement()).sorted(comparator).toList();
+    var args =
+        options.sort(
+            options.filterIncluded(directive.getArguments()),
+            GraphQLDirective.class,
+            GraphQLArgument.class);
 
-    sb.append(argsString(GraphQLDirective.class, args));
+    printArgs(out, GraphQLDirective.class, args);
 
     if (directive.isRepeatable()) {
-      sb.append(" repeatable");
+      out.append(" repeatable");
     }
 
-    sb.append(" on ");
-
-    var locations =
-        directive.validLocations().stream().map(Enum::name).collect(Collectors.joining(" | "));
-    sb.append(locations);
-
-    return sb.toString();
-  }
+    out.append(" on ");
 
-  private String printComments(GraphQLNamedSchemaElement graphQLType, String prefix) {
-    var sw = new StringWriter();
-    var pw = new PrintWriter(sw);
-    printComments(pw, graphQLType, prefix);
-    return sw.toString();
+    var first = true;
+    for (var location : directive.validLocations()) {
+      if (!first) {
+        out.append(" | ");
+      }
+      out.append(location.name());
+      first = false;
+    }
   }
 
   private void printComments(
       PrintWriter out, GraphQLNamedSchemaElement graphQLType, String prefix) {
 
-    var documentation = getDocumentation(graphQLType);
-    if (documentation.isNullOrEmpty()) {
-      return;
-    }
-
-    printMultiLineHashDescription(out, prefix, documentation.getComments());
-
-    documentation
-        .getDescription()
-        .map(description -> asList(description.split("\n")))
-        .filter(lines -> !lines.isEmpty())
-        .ifPresent(
-            lines -> {
-              if (options.isDescriptionsAsHashComments()) {
-                printMultiLineHashDescription(out, prefix, lines);
-              } else if (lines.size() > 1) {
-                printMultiLineDescription(out, prefix, lines);
-              } else {
-                printSingleLineDescription(out, prefix, lines.get(0));
-              }
-            });
-  }
-
-  private void printMultiLineHashDescription(PrintWriter out, String prefix, List<String> lines) {
-    lines.forEach(l -> out.printf("%s#%s", prefix, l).append("\n"));
-  }
-
-  private void printMultiLineDescription(PrintWriter out, String prefix, List<String> lines) {
-    out.printf("%s\"\"\"", prefix).append("\n");
-    lines.forEach(l -> out.printf("%s%s", prefix, l).append("\n"));
-    out.printf("%s\"\"\"", prefix).append("\n");
-  }
-
-  private void printSingleLineDescription(PrintWriter out, String prefix, String s) {
-    // See: https://github.com/graphql/graphql-spec/issues/148
-    var desc = escapeJsonString(s);
-    out.printf("%s\"%s\"", prefix, desc).append("\n");
+    getDocumentation(graphQLType).print(out, prefix, options.isDescriptionsAsHashComments());
   }
 
   private boolean hasDescription(GraphQLNamedSchemaElement descriptionHolder) {
@@ -810,7 +816,12 @@ public class SchemaPrinter {
     return !description.isNullOrEmpty();
   }
 
+  /** The documentation of each element is only extracted once, also for all the source files */
   private DescriptionAndComments getDocumentation(GraphQLNamedSchemaElement type) {
+    return printCache.getDocumentation(type, this::extractDocumentation);
+  }
+
+  private DescriptionAndComments extractDocumentation(GraphQLNamedSchemaElement type) {
     var returnValue = new DescriptionAndComments();
 
     AbstractDescribedNode<?> definition = (AbstractDescribedNode<?>) type.getDefinition();
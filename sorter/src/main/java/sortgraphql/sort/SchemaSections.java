@@ -0,0 +1,91 @@
+package sortgraphql.sort;
+
+import graphql.language.Definition;
+import graphql.language.DirectiveDefinition;
+import graphql.language.Document;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.NamedNode;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.language.UnionTypeDefinition;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The sections of a schema file, in the same order as the SchemaPrinter prints them. Within each
+ * section (except the schema definition) the definitions are sorted by name.
+ */
+final class SchemaSections {
+  static final int SCHEMA_SECTION = 0;
+  static final int DIRECTIVE_SECTION = 1;
+  static final int ROOT_TYPE_SECTION = 2;
+  static final int SCALAR_SECTION = 5;
+  static final int INTERFACE_SECTION = 6;
+  static final int UNION_SECTION = 7;
+  static final int INPUT_SECTION = 8;
+  static final int TYPE_SECTION = 9;
+  static final int ENUM_SECTION = 10;
+  static final int UNKNOWN_SECTION = -1;
+
+  private SchemaSections() {}
+
+  /** The names of the query, mutation and subscription types, in that order */
+  static List<String> getRootTypeNames(Collection<Document> schemaDocuments) {
+    var rootTypeNames = new ArrayList<>(List.of("Query", "Mutation", "Subscription"));
+    schemaDocuments.stream()
+        .flatMap(document -> document.getDefinitionsOfType(SchemaDefinition.class).stream())
+        .flatMap(schemaDefinition -> schemaDefinition.getOperationTypeDefinitions().stream())
+        .forEach(
+            operationType -> {
+              var typeName = operationType.getTypeName().getName();
+              switch (operationType.getName()) {
+                case "query" -> rootTypeNames.set(0, typeName);
+                case "mutation" -> rootTypeNames.set(1, typeName);
+                case "subscription" -> rootTypeNames.set(2, typeName);
+                default -> {
+                  // Not a valid operation type, the schema validation will complain about it
+                }
+              }
+            });
+    return rootTypeNames;
+  }
+
+  /** The section of the definition, or UNKNOWN_SECTION if it is not printed by the printer */
+  static int getSection(Definition<?> definition, List<String> rootTypeNames) {
+    if (definition instanceof SchemaDefinition) {
+      return SCHEMA_SECTION;
+    }
+    if (definition instanceof DirectiveDefinition) {
+      return DIRECTIVE_SECTION;
+    }
+    if (definition instanceof ObjectTypeDefinition objectTypeDefinition) {
+      var rootTypeIndex = rootTypeNames.indexOf(objectTypeDefinition.getName());
+      return rootTypeIndex >= 0 ? ROOT_TYPE_SECTION + rootTypeIndex : TYPE_SECTION;
+    }
+    if (definition instanceof ScalarTypeDefinition) {
+      return SCALAR_SECTION;
+    }
+    if (definition instanceof InterfaceTypeDefinition) {
+      return INTERFACE_SECTION;
+    }
+    if (definition instanceof UnionTypeDefinition) {
+      return UNION_SECTION;
+    }
+    if (definition instanceof InputObjectTypeDefinition) {
+      return INPUT_SECTION;
+    }
+    if (definition instanceof EnumTypeDefinition) {
+      return ENUM_SECTION;
+    }
+    return UNKNOWN_SECTION;
+  }
+
+  /** The name of the definition, the schema definition has no name */
+  static String getName(Definition<?> definition) {
+    return definition instanceof NamedNode<?> namedNode ? namedNode.getName() : "";
+  }
+}
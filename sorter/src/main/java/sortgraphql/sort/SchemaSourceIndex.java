@@ -0,0 +1,69 @@
+package sortgraphql.sort;
+
+import graphql.language.Node;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLNamedSchemaElement;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of which source file each type and directive in a (merged) schema was defined in, so
+ * that the output for one file only has to visit the elements that belong to that file. Elements
+ * without source location belong to all files.
+ */
+public class SchemaSourceIndex {
+  private final Map<String, List<GraphQLNamedType>> typesBySource = new HashMap<>();
+  private final Map<String, List<GraphQLDirective>> directivesBySource = new HashMap<>();
+  private final List<GraphQLNamedType> typesWithoutSource = new ArrayList<>();
+  private final List<GraphQLDirective> directivesWithoutSource = new ArrayList<>();
+
+  private SchemaSourceIndex() {}
+
+  /** Walks through the schema once and assigns each type and directive to its source file */
+  public static SchemaSourceIndex create(GraphQLSchema schema) {
+    var index = new SchemaSourceIndex();
+    schema
+        .getAllTypesAsList()
+        .forEach(type -> index.add(type, index.typesBySource, index.typesWithoutSource));
+    schema
+        .getDirectives()
+        .forEach(
+            directive ->
+                index.add(directive, index.directivesBySource, index.directivesWithoutSource));
+    return index;
+  }
+
+  private <T extends GraphQLNamedSchemaElement> void add(
+      T element, Map<String, List<T>> elementsBySource, List<T> elementsWithoutSource) {
+    Node<?> definition = element.getDefinition();
+    if (definition == null || definition.getSourceLocation() == null) {
+      elementsWithoutSource.add(element);
+      return;
+    }
+    var sourceName = definition.getSourceLocation().getSourceName();
+    if (sourceName != null) {
+      elementsBySource.computeIfAbsent(sourceName, key -> new ArrayList<>()).add(element);
+    }
+  }
+
+  /** All types that should be considered when printing the source file */
+  public List<GraphQLNamedType> getTypes(String sourceName) {
+    return concat(typesBySource.getOrDefault(sourceName, List.of()), typesWithoutSource);
+  }
+
+  /** All directives that should be considered when printing the source file */
+  public List<GraphQLDirective> getDirectives(String sourceName) {
+    return concat(directivesBySource.getOrDefault(sourceName, List.of()), directivesWithoutSource);
+  }
+
+  private static <T> List<T> concat(List<T> first, List<T> second) {
+    var returnValue = new ArrayList<T>(first.size() + second.size());
+    returnValue.addAll(first);
+    returnValue.addAll(second);
+    return returnValue;
+  }
+}
@@ -0,0 +1,266 @@
+package sortgraphql.sort;
+
+import graphql.language.Argument;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectivesContainer;
+import graphql.language.Document;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.ImplementingTypeDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.NamedNode;
+import graphql.language.SDLExtensionDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Verifies that a parsed schema document has its elements in the same order as the SchemaPrinter
+ * would print them, without building or printing the schema. Only the order of the elements is
+ * verified, not the formatting. The verification stops at the first element that is out of order.
+ *
+ * <p>When the formatting is preserved, only the elements that the SourceTextSorter moves are
+ * verified: the definitions, fields, input fields and enum values. Extensions are then kept as
+ * separate definitions, instead of being merged into their types.
+ */
+public class SortOrderVerifier {
+  private final boolean skipUnionTypeSorting;
+  private final boolean skipFieldArgumentSorting;
+  private final boolean preserveFormatting;
+
+  public SortOrderVerifier(
+      boolean skipUnionTypeSorting, boolean skipFieldArgumentSorting, boolean preserveFormatting) {
+    this.skipUnionTypeSorting = skipUnionTypeSorting;
+    this.skipFieldArgumentSorting = skipFieldArgumentSorting;
+    this.preserveFormatting = preserveFormatting;
+  }
+
+  /**
+   * Finds the first element in the document that is not sorted.
+   *
+   * @param document the parsed schema document to verify
+   * @param schemaDocuments all documents in the schema, used to find the names of the query,
+   *     mutation and subscription types
+   * @return a description of the first unsorted element, or empty if the document is sorted
+   */
+  public Optional<String> findFirstUnsortedElement(
+      Document document, Collection<Document> schemaDocuments) {
+    var rootTypeNames = SchemaSections.getRootTypeNames(schemaDocuments);
+
+    var definitions = new ArrayList<SortedDefinition>();
+    for (Definition<?> definition : document.getDefinitions()) {
+      var section = SchemaSections.getSection(definition, rootTypeNames);
+      if (section != SchemaSections.UNKNOWN_SECTION) {
+        definitions.add(new SortedDefinition(section, definition));
+      }
+    }
+
+    for (var i = 0; i < definitions.size(); i++) {
+      var definition = definitions.get(i);
+      if (!preserveFormatting && definition.node() instanceof SDLExtensionDefinition) {
+        // The printer merges all extensions into the definitions that they extend
+        return Optional.of(
+            String.format(
+                "extension of %s should be merged into its definition",
+                describe(definition.node())));
+      }
+      if (i > 0 && definition.isBefore(definitions.get(i - 1))) {
+        return Optional.of(
+            String.format(
+                "%s should be placed before %s",
+                describe(definition.node()), describe(definitions.get(i - 1).node())));
+      }
+      var unsortedElement = findFirstUnsortedElement(definition.node());
+      if (unsortedElement.isPresent()) {
+        return unsortedElement;
+      }
+    }
+    return Optional.empty();
+  }
+
+  private Optional<String> findFirstUnsortedElement(Definition<?> definition) {
+    var parentDescription = describe(definition);
+    if (preserveFormatting) {
+      return findFirstUnsortedChild(definition, parentDescription);
+    }
+    var unsortedElement = Optional.<String>empty();
+
+    if (definition instanceof DirectivesContainer<?> directivesContainer) {
+      unsortedElement = findUnsortedDirectives(directivesContainer, parentDescription);
+    }
+    if (unsortedElement.isEmpty() && definition instanceof DirectiveDefinition directive) {
+      unsortedElement =
+          findUnsortedInputValues(directive.getInputValueDefinitions(), parentDescription, false);
+    }
+    if (unsortedElement.isEmpty() && definition instanceof ImplementingTypeDefinition<?> type) {
+      unsortedElement =
+          findUnsortedTypeNames(type.getImplements(), "interface", parentDescription)
+              .or(() -> findUnsortedFields(type.getFieldDefinitions(), parentDescription));
+    }
+    if (unsortedElement.isEmpty() && definition instanceof InputObjectTypeDefinition input) {
+      unsortedElement =
+          findUnsortedInputValues(input.getInputValueDefinitions(), parentDescription, true);
+    }
+    if (unsortedElement.isEmpty()
+        && !skipUnionTypeSorting
+        && definition instanceof UnionTypeDefinition union) {
+      unsortedElement = findUnsortedTypeNames(union.getMemberTypes(), "type", parentDescription);
+    }
+    if (unsortedElement.isEmpty() && definition instanceof EnumTypeDefinition enumType) {
+      unsortedElement =
+          findUnsorted(
+                  enumType.getEnumValueDefinitions(),
+                  value -> "value '" + value.getName() + "'",
+                  parentDescription)
+              .or(
+                  () ->
+                      enumType.getEnumValueDefinitions().stream()
+                          .map(value -> findUnsortedDirectives(value, parentDescription))
+                          .flatMap(Optional::stream)
+                          .findFirst());
+    }
+    return unsortedElement;
+  }
+
+  /** Only the fields, input fields and enum values are moved when the formatting is preserved */
+  private Optional<String> findFirstUnsortedChild(
+      Definition<?> definition, String parentDescription) {
+    if (definition instanceof ImplementingTypeDefinition<?> type) {
+      return findUnsorted(
+          type.getFieldDefinitions(),
+          field -> "field '" + field.getName() + "'",
+          parentDescription);
+    }
+    if (definition instanceof InputObjectTypeDefinition input) {
+      return findUnsortedInputValues(input.getInputValueDefinitions(), parentDescription, false);
+    }
+    if (definition instanceof EnumTypeDefinition enumType) {
+      return findUnsorted(
+          enumType.getEnumValueDefinitions(),
+          value -> "value '" + value.getName() + "'",
+          parentDescription);
+    }
+    return Optional.empty();
+  }
+
+  private Optional<String> findUnsortedFields(
+      List<FieldDefinition> fields, String parentDescription) {
+    return findUnsorted(fields, field -> "field '" + field.getName() + "'", parentDescription)
+        .or(
+            () ->
+                fields.stream()
+                    .map(
+                        field -> {
+                          var fieldDescription =
+                              "field '" + field.getName() + "' in " + parentDescription;
+                          if (skipFieldArgumentSorting) {
+                            return findUnsortedDirectives(field, fieldDescription);
+                          }
+                          return findUnsortedInputValues(
+                                  field.getInputValueDefinitions(), fieldDescription, false)
+                              .or(() -> findUnsortedDirectives(field, fieldDescription));
+                        })
+                    .flatMap(Optional::stream)
+                    .findFirst());
+  }
+
+  private Optional<String> findUnsortedInputValues(
+      List<InputValueDefinition> inputValues, String parentDescription, boolean sortedDirectives) {
+    var unsortedInputValue =
+        findUnsorted(inputValues, value -> "'" + value.getName() + "'", parentDescription);
+    if (unsortedInputValue.isPresent() || !sortedDirectives) {
+      // Directives on arguments are printed in the original order
+      return unsortedInputValue;
+    }
+    return inputValues.stream()
+        .map(value -> findUnsortedDirectives(value, parentDescription))
+        .flatMap(Optional::stream)
+        .findFirst();
+  }
+
+  private Optional<String> findUnsortedTypeNames(
+      List<Type> types, String kind, String parentDescription) {
+    var typeNames = types.stream().filter(TypeName.class::isInstance).map(TypeName.class::cast);
+    return findUnsorted(
+        typeNames.toList(), typeName -> kind + " '" + typeName.getName() + "'", parentDescription);
+  }
+
+  private Optional<String> findUnsortedDirectives(
+      DirectivesContainer<?> directivesContainer, String parentDescription) {
+    List<Directive> directives = directivesContainer.getDirectives();
+    return findUnsorted(directives, directive -> "@" + directive.getName(), parentDescription)
+        .or(
+            () ->
+                directives.stream()
+                    .map(
+                        directive ->
+                            findUnsorted(
+                                directive.getArguments(),
+                                (Argument argument) -> "argument '" + argument.getName() + "'",
+                                "@" + directive.getName() + " in " + parentDescription))
+                    .flatMap(Optional::stream)
+                    .findFirst());
+  }
+
+  private <T extends NamedNode<?>> Optional<String> findUnsorted(
+      List<T> elements, Function<T, String> describeFn, String parentDescription) {
+    for (var i = 1; i < elements.size(); i++) {
+      var previous = elements.get(i - 1);
+      var current = elements.get(i);
+      if (current.getName().compareTo(previous.getName()) < 0) {
+        return Optional.of(
+            String.format(
+                "%s should be placed before %s in %s",
+                describeFn.apply(current), describeFn.apply(previous), parentDescription));
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static String describe(Definition<?> definition) {
+    if (definition instanceof SchemaDefinition) {
+      return "schema";
+    }
+    var name = ((NamedNode<?>) definition).getName();
+    if (definition instanceof DirectiveDefinition) {
+      return "directive '@" + name + "'";
+    }
+    if (definition instanceof ScalarTypeDefinition) {
+      return "scalar '" + name + "'";
+    }
+    if (definition instanceof InterfaceTypeDefinition) {
+      return "interface '" + name + "'";
+    }
+    if (definition instanceof UnionTypeDefinition) {
+      return "union '" + name + "'";
+    }
+    if (definition instanceof InputObjectTypeDefinition) {
+      return "input '" + name + "'";
+    }
+    if (definition instanceof EnumTypeDefinition) {
+      return "enum '" + name + "'";
+    }
+    return "type '" + name + "'";
+  }
+
+  private record SortedDefinition(int section, Definition<?> node) {
+    boolean isBefore(SortedDefinition other) {
+      if (section != other.section) {
+        return section < other.section;
+      }
+      return section != SchemaSections.SCHEMA_SECTION
+          && SchemaSections.getName(node).compareTo(SchemaSections.getName(other.node)) < 0;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package sortgraphql.sort;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** A (merged) schema that can print the sorted content of each of its source files */
+public interface SortableSchema {
+
+  /** Prints the sorted content of one source file */
+  String print(String sourceName);
+
+  /** Prints the sorted content of one source file straight to the writer */
+  void print(String sourceName, Writer writer) throws IOException;
+}
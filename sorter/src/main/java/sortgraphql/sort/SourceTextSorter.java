@@ -0,0 +1,253 @@
+package sortgraphql.sort;
+
+import graphql.language.AbstractDescribedNode;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.ImplementingTypeDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.NamedNode;
+import graphql.language.Node;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorts a schema file by moving slices of the original text, instead of printing the schema. The
+ * definitions, fields, input fields and enum values are cut out of the original text (together with
+ * their descriptions and comments) and put back in sorted order, while all text between them stays
+ * in place. Everything else, such as directives, arguments and formatting, is kept as it was.
+ */
+public class SourceTextSorter {
+  private static final Comparator<Slice> BY_SORT_ORDER =
+      Comparator.comparingInt(Slice::section).thenComparing(Slice::name);
+
+  private final List<String> rootTypeNames;
+
+  /**
+   * @param schemaDocuments all documents in the schema, used to find the names of the query,
+   *     mutation and subscription types
+   */
+  public SourceTextSorter(Collection<Document> schemaDocuments) {
+    this.rootTypeNames = SchemaSections.getRootTypeNames(schemaDocuments);
+  }
+
+  /**
+   * Sorts the content of a schema file
+   *
+   * @param schemaContent the original content of the schema file
+   * @param document the parsed schema file, with source locations
+   * @return the sorted content
+   */
+  public String sort(String schemaContent, Document document) {
+    var sourceText = new SourceText(schemaContent);
+    var definitions = document.getDefinitions();
+    var slices = new ArrayList<Slice>(definitions.size());
+    var starts = definitions.stream().map(sourceText::getStart).toList();
+    for (var i = 0; i < definitions.size(); i++) {
+      Definition<?> definition = definitions.get(i);
+      var end =
+          sourceText.getEnd(
+              i + 1 < definitions.size() ? starts.get(i + 1) : schemaContent.length());
+      slices.add(
+          new Slice(
+              starts.get(i),
+              end,
+              getSection(definition),
+              SchemaSections.getName(definition),
+              getChildren(sourceText, definition)));
+    }
+
+    var sb = new StringBuilder(schemaContent.length());
+    sourceText.appendSorted(sb, 0, schemaContent.length(), slices);
+    return sb.toString();
+  }
+
+  private int getSection(Definition<?> definition) {
+    var section = SchemaSections.getSection(definition, rootTypeNames);
+    // Definitions that are not printed by the printer are kept last, in the original order
+    return section == SchemaSections.UNKNOWN_SECTION ? Integer.MAX_VALUE : section;
+  }
+
+  private List<Slice> getChildren(SourceText sourceText, Definition<?> definition) {
+    if (definition instanceof ImplementingTypeDefinition<?> type) {
+      return getNamedChildren(sourceText, type.getFieldDefinitions());
+    }
+    if (definition instanceof InputObjectTypeDefinition input) {
+      return getNamedChildren(sourceText, input.getInputValueDefinitions());
+    }
+    if (definition instanceof EnumTypeDefinition enumType) {
+      return getNamedChildren(sourceText, enumType.getEnumValueDefinitions());
+    }
+    return List.of();
+  }
+
+  private <T extends NamedNode<?>> List<Slice> getNamedChildren(
+      SourceText sourceText, List<T> nodes) {
+    if (nodes.isEmpty()) {
+      return List.of();
+    }
+    var starts = nodes.stream().map(sourceText::getStart).toList();
+    // The last child ends before the closing bracket of its parent
+    var parentEnd = sourceText.findClosingBracket(starts.get(starts.size() - 1));
+
+    var children = new ArrayList<Slice>(nodes.size());
+    for (var i = 0; i < nodes.size(); i++) {
+      var end = sourceText.getEnd(i + 1 < nodes.size() ? starts.get(i + 1) : parentEnd);
+      children.add(new Slice(starts.get(i), end, 0, nodes.get(i).getName(), List.of()));
+    }
+    return children;
+  }
+
+  /** A part of the original text that can be moved, with the parts inside it that can be moved */
+  private record Slice(int start, int end, int section, String name, List<Slice> children) {}
+
+  /** The original text, with the offset of each line so that source locations can be found */
+  private static class SourceText {
+    private final String text;
+    private final List<Integer> lineOffsets = new ArrayList<>();
+
+    SourceText(String text) {
+      this.text = text;
+      lineOffsets.add(0);
+      for (var i = 0; i < text.length(); i++) {
+        if (text.charAt(i) == '\n') {
+          lineOffsets.add(i + 1);
+        }
+      }
+    }
+
+    /** The start of the node, including the comment lines right above it */
+    int getStart(Node<?> node) {
+      var sourceLocation = node.getSourceLocation();
+      var lineOffset = lineOffsets.get(sourceLocation.getLine() - 1);
+      var start = text.offsetByCodePoints(lineOffset, sourceLocation.getColumn() - 1);
+
+      var commentCount =
+          node instanceof AbstractDescribedNode<?> describedNode
+              ? describedNode.getComments().size()
+              : 0;
+      var line = sourceLocation.getLine() - 1;
+      while (commentCount > 0 && line > 0 && isCommentLine(line - 1)) {
+        line--;
+        commentCount--;
+        start = lineOffsets.get(line) + indentation(line);
+      }
+      return start;
+    }
+
+    private boolean isCommentLine(int line) {
+      var offset = lineOffsets.get(line) + indentation(line);
+      return offset < text.length() && text.charAt(offset) == '#';
+    }
+
+    private int indentation(int line) {
+      var offset = lineOffsets.get(line);
+      var i = offset;
+      while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+        i++;
+      }
+      return i - offset;
+    }
+
+    /**
+     * The end of a slice that is followed by the next slice. The comma and the whitespace at the
+     * end of the last line belong to the slice, so that a comma that ends a line is moved together
+     * with the slice. Commas between slices on the same line stay in place.
+     */
+    int getEnd(int nextStart) {
+      var end = skipWhitespaceBackwards(nextStart);
+      var i = end;
+      while (i < nextStart
+          && (text.charAt(i) == ' ' || text.charAt(i) == '\t' || text.charAt(i) == ',')) {
+        i++;
+      }
+      var atEndOfLine = i == text.length() || text.charAt(i) == '\n' || text.charAt(i) == '\r';
+      return atEndOfLine ? i : end;
+    }
+
+    /** The position after the last character that is not whitespace or a comma */
+    private int skipWhitespaceBackwards(int position) {
+      while (position > 0 && isIgnored(text.charAt(position - 1))) {
+        position--;
+      }
+      return position;
+    }
+
+    private static boolean isIgnored(char c) {
+      return Character.isWhitespace(c) || c == ',' || c == '\uFEFF';
+    }
+
+    /**
+     * Finds the closing bracket that ends the block the position is in. Strings, block strings and
+     * comments are skipped.
+     */
+    int findClosingBracket(int position) {
+      var depth = 0;
+      var i = position;
+      while (i < text.length()) {
+        var c = text.charAt(i);
+        if (text.startsWith("\"\"\"", i)) {
+          i = skipBlockString(i + 3);
+          continue;
+        }
+        if (c == '"') {
+          i = skipString(i + 1);
+          continue;
+        }
+        if (c == '#') {
+          i = skipToEndOfLine(i);
+          continue;
+        }
+        if (c == '{' || c == '(' || c == '[') {
+          depth++;
+        } else if (c == '}' || c == ')' || c == ']') {
+          if (depth == 0) {
+            return i;
+          }
+          depth--;
+        }
+        i++;
+      }
+      return text.length();
+    }
+
+    private int skipBlockString(int i) {
+      while (i < text.length() && !text.startsWith("\"\"\"", i)) {
+        i += text.startsWith("\\\"\"\"", i) ? 4 : 1;
+      }
+      return Math.min(i + 3, text.length());
+    }
+
+    private int skipString(int i) {
+      while (i < text.length() && text.charAt(i) != '"' && text.charAt(i) != '\n') {
+        i += text.charAt(i) == '\\' ? 2 : 1;
+      }
+      return Math.min(i + 1, text.length());
+    }
+
+    private int skipToEndOfLine(int i) {
+      while (i < text.length() && text.charAt(i) != '\n') {
+        i++;
+      }
+      return i;
+    }
+
+    /**
+     * Appends the text between start and end, where the slices are moved into sorted order. The
+     * text between the slices stays in place.
+     */
+    void appendSorted(StringBuilder sb, int start, int end, List<Slice> slices) {
+      var sortedSlices = slices.stream().sorted(BY_SORT_ORDER).toList();
+      var position = start;
+      for (var i = 0; i < slices.size(); i++) {
+        sb.append(text, position, slices.get(i).start());
+        var slice = sortedSlices.get(i);
+        appendSorted(sb, slice.start(), slice.end(), slice.children());
+        position = slices.get(i).end();
+      }
+      sb.append(text, position, end);
+    }
+  }
+}
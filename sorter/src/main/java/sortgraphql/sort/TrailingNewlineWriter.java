@@ -0,0 +1,111 @@
+package sortgraphql.sort;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer that removes the last newline if the output ends with two newlines, while the output is
+ * streamed to another writer. Newlines are held back until something else is written, or until the
+ * writer is finished.
+ *
+ * <p>The printers write through a PrintWriter, which hides all IOExceptions. The first exception is
+ * therefore kept and thrown again when the writer is finished.
+ */
+class TrailingNewlineWriter extends Writer {
+  private final Writer out;
+  private int pendingNewlines;
+  private IOException exception;
+
+  TrailingNewlineWriter(Writer out) {
+    this.out = out;
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (c == '\n') {
+      pendingNewlines++;
+      return;
+    }
+    writePendingNewlines();
+    handleException(() -> out.write(c));
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    var end = off + len;
+    var contentEnd = end;
+    while (contentEnd > off && cbuf[contentEnd - 1] == '\n') {
+      contentEnd--;
+    }
+    if (contentEnd > off) {
+      writePendingNewlines();
+      var contentLength = contentEnd - off;
+      handleException(() -> out.write(cbuf, off, contentLength));
+    }
+    pendingNewlines += end - contentEnd;
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    var end = off + len;
+    var contentEnd = end;
+    while (contentEnd > off && str.charAt(contentEnd - 1) == '\n') {
+      contentEnd--;
+    }
+    if (contentEnd > off) {
+      writePendingNewlines();
+      var contentLength = contentEnd - off;
+      handleException(() -> out.write(str, off, contentLength));
+    }
+    pendingNewlines += end - contentEnd;
+  }
+
+  private void writePendingNewlines() throws IOException {
+    while (pendingNewlines > 0) {
+      pendingNewlines--;
+      handleException(() -> out.write('\n'));
+    }
+  }
+
+  /**
+   * Writes the held back newlines, except the last of two or more newlines
+   *
+   * @throws IOException the first exception from the underlying writer
+   */
+  void finish() throws IOException {
+    if (pendingNewlines > 1) {
+      pendingNewlines--;
+    }
+    writePendingNewlines();
+    handleException(out::flush);
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  private void handleException(WriteOperation operation) throws IOException {
+    try {
+      operation.write();
+    } catch (IOException e) {
+      if (exception == null) {
+        exception = e;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    handleException(out::flush);
+  }
+
+  @Override
+  public void close() throws IOException {
+    finish();
+  }
+
+  @FunctionalInterface
+  private interface WriteOperation {
+    void write() throws IOException;
+  }
+}
@@ -0,0 +1,85 @@
+package sortgraphql.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * A writer that encodes the characters and compares the bytes with the bytes of a file, instead of
+ * writing them. The file is read in small parts while the content is written, and the writing is
+ * aborted at the first difference by throwing a ContentMismatchException.
+ */
+class ByteComparingWriter extends EncodingWriter {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final FileChannel channel;
+  private final long fileSize;
+  private final ByteBuffer fileBytes;
+  private long comparedBytes;
+
+  ByteComparingWriter(FileChannel channel, Charset charset) throws IOException {
+    this(channel, charset, BUFFER_SIZE);
+  }
+
+  ByteComparingWriter(FileChannel channel, Charset charset, int bufferSize) throws IOException {
+    super(charset, 1, bufferSize);
+    this.channel = channel;
+    this.fileSize = channel.size();
+    this.fileBytes = ByteBuffer.allocate(bufferSize).flip();
+  }
+
+  @Override
+  void writeBytes(ByteBuffer[] buffers, int bufferCount) throws IOException {
+    for (var i = 0; i < bufferCount; i++) {
+      compare(buffers[i]);
+    }
+  }
+
+  private void compare(ByteBuffer encoded) throws IOException {
+    // The content cannot be the same if it is longer than the file
+    if (comparedBytes + encoded.remaining() > fileSize) {
+      throw new ContentMismatchException();
+    }
+    while (encoded.hasRemaining()) {
+      if (!fileBytes.hasRemaining()) {
+        readFileBytes();
+      }
+      var length = Math.min(encoded.remaining(), fileBytes.remaining());
+      if (encoded
+              .slice(encoded.position(), length)
+              .mismatch(fileBytes.slice(fileBytes.position(), length))
+          >= 0) {
+        throw new ContentMismatchException();
+      }
+      encoded.position(encoded.position() + length);
+      fileBytes.position(fileBytes.position() + length);
+      comparedBytes += length;
+    }
+  }
+
+  private void readFileBytes() throws IOException {
+    fileBytes.clear();
+    if (channel.read(fileBytes) < 0) {
+      throw new ContentMismatchException();
+    }
+    fileBytes.flip();
+  }
+
+  /** True if all the bytes of the file have been compared, call after the writer is closed */
+  boolean isSameContent() {
+    return comparedBytes == fileSize;
+  }
+
+  @Override
+  void closeTarget() throws IOException {
+    channel.close();
+  }
+
+  /** Thrown at the first difference, so that the printing is aborted */
+  static class ContentMismatchException extends RuntimeException {
+    ContentMismatchException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package sortgraphql.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * A writer that encodes the characters into a few reusable byte buffers. When all buffers are full,
+ * they are written to the file channel with one gathering write. The file can be forced to disk
+ * when the writer is closed.
+ */
+class ChannelWriter extends EncodingWriter {
+  private static final int BUFFER_COUNT = 8;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final FileChannel channel;
+  private final boolean sync;
+
+  ChannelWriter(FileChannel channel, Charset charset, boolean sync) {
+    this(channel, charset, sync, BUFFER_COUNT, BUFFER_SIZE);
+  }
+
+  ChannelWriter(
+      FileChannel channel, Charset charset, boolean sync, int bufferCount, int bufferSize) {
+    super(charset, bufferCount, bufferSize);
+    this.channel = channel;
+    this.sync = sync;
+  }
+
+  @Override
+  void writeBytes(ByteBuffer[] buffers, int bufferCount) throws IOException {
+    long remaining = 0;
+    for (var i = 0; i < bufferCount; i++) {
+      remaining += buffers[i].remaining();
+    }
+    while (remaining > 0) {
+      remaining -= channel.write(buffers, 0, bufferCount);
+    }
+  }
+
+  @Override
+  void closeTarget() throws IOException {
+    try (channel) {
+      if (sync) {
+        channel.force(true);
+      }
+    }
+  }
+}
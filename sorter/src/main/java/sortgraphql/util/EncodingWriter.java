@@ -0,0 +1,150 @@
+package sortgraphql.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A writer that encodes the characters straight into a few reusable byte buffers. When all buffers
+ * are full, they are handed over to the subclass at once. The encoded content is therefore never
+ * kept in memory as a whole.
+ */
+abstract class EncodingWriter extends Writer {
+  private final CharsetEncoder encoder;
+  private final CharBuffer chars;
+  private final ByteBuffer[] buffers;
+  private int currentBuffer;
+  private boolean closed;
+
+  EncodingWriter(Charset charset, int bufferCount, int bufferSize) {
+    // Same as OutputStreamWriter, characters that cannot be encoded are replaced
+    this.encoder =
+        charset
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = CharBuffer.allocate(bufferSize);
+    this.buffers = new ByteBuffer[bufferCount];
+    for (var i = 0; i < bufferCount; i++) {
+      buffers[i] = ByteBuffer.allocate(bufferSize);
+    }
+  }
+
+  /**
+   * Handles the encoded bytes, all bytes between position and limit of the buffers must be consumed
+   */
+  abstract void writeBytes(ByteBuffer[] buffers, int bufferCount) throws IOException;
+
+  /** Called when all encoded bytes have been handled */
+  abstract void closeTarget() throws IOException;
+
+  @Override
+  public void write(int c) throws IOException {
+    if (!chars.hasRemaining()) {
+      encode(false);
+    }
+    chars.put((char) c);
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    while (len > 0) {
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+      var count = Math.min(len, chars.remaining());
+      chars.put(cbuf, off, count);
+      off += count;
+      len -= count;
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    while (len > 0) {
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+      var count = Math.min(len, chars.remaining());
+      chars.put(str, off, off + count);
+      off += count;
+      len -= count;
+    }
+  }
+
+  /**
+   * Encodes the pending characters into the byte buffers. An incomplete surrogate pair at the end
+   * is kept until the rest of it is written.
+   */
+  private void encode(boolean endOfInput) throws IOException {
+    chars.flip();
+    CoderResult result;
+    while ((result = encoder.encode(chars, buffers[currentBuffer], endOfInput)).isOverflow()) {
+      nextBuffer();
+    }
+    throwIfError(result);
+    chars.compact();
+  }
+
+  private void nextBuffer() throws IOException {
+    currentBuffer++;
+    if (currentBuffer == buffers.length) {
+      handBuffersOver(buffers.length);
+    }
+  }
+
+  /** Hands the filled buffers over to the subclass and makes them ready to be reused */
+  private void handBuffersOver(int bufferCount) throws IOException {
+    for (var i = 0; i < bufferCount; i++) {
+      buffers[i].flip();
+    }
+    writeBytes(buffers, bufferCount);
+    for (var i = 0; i < bufferCount; i++) {
+      buffers[i].clear();
+    }
+    currentBuffer = 0;
+  }
+
+  private void handFilledBuffersOver() throws IOException {
+    var bufferCount = buffers[currentBuffer].position() > 0 ? currentBuffer + 1 : currentBuffer;
+    if (bufferCount > 0) {
+      handBuffersOver(bufferCount);
+    }
+  }
+
+  private static void throwIfError(CoderResult result) throws IOException {
+    if (result.isError()) {
+      result.throwException();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    encode(false);
+    handFilledBuffersOver();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      encode(true);
+      CoderResult result;
+      while ((result = encoder.flush(buffers[currentBuffer])).isOverflow()) {
+        nextBuffer();
+      }
+      throwIfError(result);
+      handFilledBuffersOver();
+    } finally {
+      closeTarget();
+    }
+  }
+}
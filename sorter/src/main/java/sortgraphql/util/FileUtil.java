@@ -1,24 +1,49 @@
 package sortgraphql.util;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
-import org.apache.commons.io.IOUtils;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import sortgraphql.exception.FailureException;
+import sortgraphql.parameter.BackupStrategy;
 import sortgraphql.parameter.PluginParameters;
 
 /** Used to interface with file system */
 public class FileUtil {
   private String backupFileExtension;
+  private BackupStrategy backupStrategy;
+  private File backupArchive;
   private String encoding;
+  private boolean syncSchemaFiles;
+  private ZipOutputStream backupArchiveStream;
+
+  /** The schema files that were renamed to their backup files, until they are saved */
+  private final Map<Path, Path> renamedSchemaFiles = new ConcurrentHashMap<>();
 
   /** Initializes the class with plugin parameters. */
   public void setup(PluginParameters parameters) {
     this.backupFileExtension = parameters.backupFileExtension;
+    this.backupStrategy = parameters.backupStrategy;
+    this.backupArchive = parameters.backupArchive;
     this.encoding = parameters.encoding;
+    this.syncSchemaFiles = parameters.syncSchemaFiles;
   }
 
   /**
@@ -27,22 +52,81 @@ public class FileUtil {
    * @return Content of the file
    */
   public String getSchemaContent(File schemaFile) {
-    String content;
-    try (InputStream inputStream = new FileInputStream(schemaFile)) {
-      content = IOUtils.toString(inputStream, encoding);
+    try {
+      // Same as InputStreamReader, bytes that cannot be decoded are replaced
+      var decoder =
+          Charset.forName(encoding)
+              .newDecoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      try (var channel = FileChannel.open(schemaFile.toPath(), StandardOpenOption.READ)) {
+        return decoder.decode(readFully(channel)).toString();
+      }
+    } catch (UnsupportedCharsetException ex) {
+      throw new FailureException("Could not handle encoding: " + encoding, ex);
+    } catch (IOException ex) {
+      throw new FailureException("Could not read schema file: " + schemaFile.getAbsolutePath(), ex);
+    }
+  }
+
+  /**
+   * Reads the whole file into one buffer of the file size, which the decoder decodes into one
+   * buffer of the expected content size
+   */
+  private static ByteBuffer readFully(FileChannel channel) throws IOException {
+    var size = channel.size();
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IOException("File is too large: " + size + " bytes");
+    }
+    var buffer = ByteBuffer.allocate((int) size);
+    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+      // Read until the buffer is full or the file ends
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Checks if the schema file already contains the content. The content is encoded and compared
+   * with the bytes of the file while it is created, and the comparison stops at the first
+   * difference. Neither the content nor the file is kept in memory as a whole.
+   *
+   * @param contentWriter Writes the content to compare
+   * @return true if the file has exactly the same bytes as the encoded content
+   */
+  public boolean hasSameContent(ContentWriter contentWriter, File schemaFile) {
+    try {
+      var charset = Charset.forName(encoding);
+      // The channel is closed even if the writer cannot be created
+      try (var channel = FileChannel.open(schemaFile.toPath(), StandardOpenOption.READ)) {
+        var comparingWriter = new ByteComparingWriter(channel, charset);
+        try (comparingWriter) {
+          contentWriter.write(comparingWriter);
+        } catch (ByteComparingWriter.ContentMismatchException e) {
+          return false;
+        }
+        return comparingWriter.isSameContent();
+      }
     } catch (UnsupportedCharsetException ex) {
       throw new FailureException("Could not handle encoding: " + encoding, ex);
     } catch (IOException ex) {
       throw new FailureException("Could not read schema file: " + schemaFile.getAbsolutePath(), ex);
     }
-    return content;
   }
 
-  /** Saves a backup of the schema file before saving. */
-  public void backupFile(File schemaFile) {
+  /**
+   * Saves a backup of the schema file before saving.
+   *
+   * @return The backup file, or the archive that the backup was added to
+   */
+  public File backupFile(File schemaFile) {
+    if (backupStrategy == BackupStrategy.ARCHIVE) {
+      addToBackupArchive(schemaFile);
+      return backupArchive;
+    }
     var backupFile = createBackupFileHandle(schemaFile);
     deleteExistingBackupFile(backupFile);
     createBackupFile(schemaFile, backupFile);
+    return backupFile;
   }
 
   File createBackupFileHandle(File schemaFile) {
@@ -61,31 +145,185 @@ public class FileUtil {
 
   private void createBackupFile(File schemaFile, File backupFile) {
     try {
-      Files.copy(schemaFile.toPath(), backupFile.toPath());
+      switch (backupStrategy) {
+        case HARD_LINK -> linkOrCopy(schemaFile.toPath(), backupFile.toPath());
+        case RENAME -> renameToBackupFile(schemaFile.toPath(), backupFile.toPath());
+        default -> Files.copy(schemaFile.toPath(), backupFile.toPath());
+      }
     } catch (IOException e) {
       throw new FailureException(
           "Could not create backup file to filename: " + backupFile.getAbsolutePath(), e);
     }
   }
 
+  private void renameToBackupFile(Path schemaFile, Path backupFile) throws IOException {
+    Files.move(schemaFile, backupFile);
+    renamedSchemaFiles.put(schemaFile.toAbsolutePath(), backupFile.toAbsolutePath());
+  }
+
+  /**
+   * The sorted file replaces the schema file with a new file, so the link keeps the original
+   * content
+   */
+  private static void linkOrCopy(Path schemaFile, Path backupFile) throws IOException {
+    try {
+      Files.createLink(backupFile, schemaFile);
+    } catch (UnsupportedOperationException | FileSystemException e) {
+      Files.copy(schemaFile, backupFile);
+    }
+  }
+
+  /** The archive is replaced by the first backup in each build, and closed after the build */
+  private synchronized void addToBackupArchive(File schemaFile) {
+    try {
+      if (backupArchiveStream == null) {
+        Files.createDirectories(backupArchive.getAbsoluteFile().getParentFile().toPath());
+        backupArchiveStream =
+            new ZipOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(backupArchive.toPath())));
+      }
+      backupArchiveStream.putNextEntry(new ZipEntry(archiveEntryName(schemaFile)));
+      Files.copy(schemaFile.toPath(), backupArchiveStream);
+      backupArchiveStream.closeEntry();
+    } catch (IOException e) {
+      throw new FailureException(
+          "Could not add backup file to archive: " + backupArchive.getAbsolutePath(), e);
+    }
+  }
+
+  /** The absolute path of the schema file, so that files with the same name are kept apart */
+  private static String archiveEntryName(File schemaFile) {
+    var path = schemaFile.toPath().toAbsolutePath();
+    return path.getRoot().relativize(path).toString().replace(File.separatorChar, '/');
+  }
+
+  /** Closes the backup archive, if any backup file has been added to it */
+  public synchronized void closeBackupArchive() {
+    if (backupArchiveStream == null) {
+      return;
+    }
+    try (var stream = backupArchiveStream) {
+      backupArchiveStream = null;
+      stream.finish();
+    } catch (IOException e) {
+      throw new FailureException(
+          "Could not save backup archive: " + backupArchive.getAbsolutePath(), e);
+    }
+  }
+
   /**
    * Saves sorted schema file.
    *
    * @param sortedSchema The content to save
    */
   public void saveSchema(String sortedSchema, File schemaFile) {
+    saveSchema(writer -> writer.write(sortedSchema), schemaFile);
+  }
+
+  /**
+   * Saves sorted schema file, the content is encoded and written while it is created. The encoded
+   * content is written to the file from a few reused buffers.
+   *
+   * @param contentWriter Writes the content to save
+   */
+  public void saveSchema(ContentWriter contentWriter, File schemaFile) {
     saveFile(
         schemaFile,
-        sortedSchema,
+        contentWriter,
         "Could not save sorted schema file: " + schemaFile.getAbsolutePath());
   }
 
-  private void saveFile(File fileToSave, String content, String errorMessage) {
+  /**
+   * The content is written to a temporary file next to the file to save, which then replaces the
+   * file in one atomic move. The file is never left half written, even if the build is interrupted
+   * or another build saves the same file at the same time.
+   *
+   * <p>If the file is a symbolic link, the file that the link points to is replaced, so the link is
+   * kept.
+   *
+   * <p>If the file was renamed to its backup file, the saved file gets the permissions of the
+   * backup file, and the backup file is renamed back if the file cannot be saved.
+   */
+  private void saveFile(File fileToSave, ContentWriter contentWriter, String errorMessage) {
+    var path = fileToSave.toPath().toAbsolutePath();
+    var renamedOriginal = renamedSchemaFiles.remove(path);
     try {
-      Files.createDirectories(fileToSave.getParentFile().toPath());
-      Files.write(fileToSave.toPath(), content.getBytes(encoding));
+      try {
+        var targetPath = Files.exists(path) ? path.toRealPath() : path;
+        writeAtomically(
+            targetPath, renamedOriginal == null ? targetPath : renamedOriginal, contentWriter);
+      } catch (IOException | RuntimeException e) {
+        restoreRenamedOriginal(renamedOriginal, path, e);
+        throw e;
+      }
+    } catch (UnsupportedCharsetException e) {
+      throw new FailureException("Could not handle encoding: " + encoding, e);
     } catch (IOException e) {
       throw new FailureException(errorMessage, e);
     }
   }
+
+  private void writeAtomically(Path path, Path original, ContentWriter contentWriter)
+      throws IOException {
+    var charset = Charset.forName(encoding);
+    Files.createDirectories(path.getParent());
+    // The move would replace a read-only file, which could not be written directly
+    if (Files.exists(original) && !Files.isWritable(original)) {
+      throw new AccessDeniedException(original.toString());
+    }
+    var tempFile = createTempFileHandle(path);
+    try {
+      var channel =
+          FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      try (var writer = new ChannelWriter(channel, charset, syncSchemaFiles)) {
+        contentWriter.write(writer);
+      }
+      copyPermissions(original, tempFile);
+      moveAtomically(tempFile, path);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /** The schema file is never left missing, only the backup file, when the save fails */
+  private static void restoreRenamedOriginal(Path renamedOriginal, Path path, Exception cause) {
+    if (renamedOriginal == null || Files.exists(path)) {
+      return;
+    }
+    try {
+      Files.move(renamedOriginal, path);
+    } catch (IOException e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  private static Path createTempFileHandle(Path path) {
+    var suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    return path.resolveSibling("." + path.getFileName() + "." + suffix + ".tmp");
+  }
+
+  /** The saved file keeps the permissions of the original file, where the file system has them */
+  private static void copyPermissions(Path original, Path tempFile) throws IOException {
+    if (Files.exists(original)) {
+      try {
+        Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(original));
+      } catch (UnsupportedOperationException e) {
+        // Not a POSIX file system, the default permissions are used
+      }
+    }
+  }
+
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /** Writes content to a file */
+  @FunctionalInterface
+  public interface ContentWriter {
+    void write(Writer writer) throws IOException;
+  }
 }
@@ -0,0 +1,129 @@
+package sortgraphql.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import sortgraphql.exception.FailureException;
+
+/**
+ * Runs tasks on a bounded thread pool. The results are always handled by the calling thread, in the
+ * same order as the tasks were given, so that the output is the same regardless of the number of
+ * threads.
+ *
+ * <p>The thread pool is created when it is first needed and is used for all tasks until the
+ * executor is closed. Tasks that are executed from one of the pool threads are executed by that
+ * thread, so that a task never waits for tasks that are queued behind it.
+ */
+public class ParallelExecutor implements AutoCloseable {
+  /** The executor whose pool the current thread belongs to */
+  private static final ThreadLocal<ParallelExecutor> POOL_OWNER = new ThreadLocal<>();
+
+  private final int threads;
+  private ExecutorService executorService;
+
+  public ParallelExecutor(int threads) {
+    this.threads = threads;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Executes the task for each item and hands the results over to the result handler in the
+   * original order. With only one thread, everything is executed by the calling thread.
+   */
+  public <T, R> void forEachOrdered(List<T> items, Function<T, R> task, Consumer<R> resultHandler) {
+    forEachOrdered(items, task, resultHandler, items.size());
+  }
+
+  /**
+   * Executes the task for each item and hands the results over to the result handler in the
+   * original order. At most maxPending tasks are running or waiting for their results to be
+   * handled, a new task is only started when the oldest result has been handled. This keeps a
+   * bounded number of results in memory, however many items there are.
+   */
+  public <T, R> void forEachOrdered(
+      List<T> items, Function<T, R> task, Consumer<R> resultHandler, int maxPending) {
+    if (threads <= 1 || items.size() <= 1 || POOL_OWNER.get() == this) {
+      items.forEach(item -> resultHandler.accept(task.apply(item)));
+      return;
+    }
+
+    var pendingLimit = Math.max(1, maxPending);
+    var pool = getExecutorService();
+    Deque<Future<R>> futures = new ArrayDeque<>();
+    try {
+      var itemIterator = items.iterator();
+      while (itemIterator.hasNext() || !futures.isEmpty()) {
+        while (itemIterator.hasNext() && futures.size() < pendingLimit) {
+          var item = itemIterator.next();
+          futures.add(pool.submit(() -> task.apply(item)));
+        }
+        resultHandler.accept(waitFor(futures.poll()));
+      }
+    } finally {
+      // Only left if a task or the result handler failed
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /** Executes the task for each item and returns the results in the original order. */
+  public <T, R> List<R> map(List<T> items, Function<T, R> task) {
+    List<R> returnValue = new ArrayList<>(items.size());
+    forEachOrdered(items, task, returnValue::add);
+    return returnValue;
+  }
+
+  private synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      var threadCount = new AtomicInteger();
+      executorService =
+          Executors.newFixedThreadPool(
+              threads,
+              runnable -> {
+                var thread =
+                    new Thread(
+                        () -> {
+                          POOL_OWNER.set(this);
+                          runnable.run();
+                        },
+                        "sortgraphql-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return executorService;
+  }
+
+  /** Stops the threads of the pool, a new pool is created if the executor is used again */
+  @Override
+  public synchronized void close() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+      executorService = null;
+    }
+  }
+
+  private <R> R waitFor(Future<R> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FailureException("Interrupted while sorting schema files", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new FailureException("Could not sort schema files", e.getCause());
+    }
+  }
+}
@@ -49,6 +49,21 @@ public class StepDefinitions {
     paramBuilder.setIndividualSchemas(flag);
   }
 
+  @Given("skip schema validation is {booleanValue}")
+  public void skipSchemaValidation(boolean flag) {
+    paramBuilder.setSkipSchemaValidation(flag);
+  }
+
+  @Given("preserve formatting is {booleanValue}")
+  public void preserveFormatting(boolean flag) {
+    paramBuilder.setPreserveFormatting(flag);
+  }
+
+  @Given("sorting threads is {int}")
+  public void sortingThreads(int threads) {
+    paramBuilder.setThreads(threads);
+  }
+
   @Given("generate schema definition is {booleanValue}")
   public void generateSchemaDefinition(boolean flag) {
     var pluginParameters = paramBuilder.build();
@@ -0,0 +1,101 @@
+package sortgraphql;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import sortgraphql.logger.SortingLogger;
+import sortgraphql.parameter.PluginParameters;
+import sortgraphql.util.ParallelExecutor;
+
+/**
+ * The schema is printed from the executable schema, or straight from the parsed definitions when
+ * the schema validation is skipped. Both ways must print exactly the same output.
+ */
+class PrintEnginesTest {
+  private static final File FIXTURE_DIRECTORY = new File("src/test/resources/cucumber");
+
+  static Stream<Arguments> fixturesAndOptions() {
+    var fixtures = groupFixtures();
+    var arguments = new ArrayList<Arguments>();
+    for (var hashComments : List.of(true, false)) {
+      for (var schemaDefinition : List.of(true, false)) {
+        for (var skipSorting : List.of(true, false)) {
+          fixtures.forEach(
+              files ->
+                  arguments.add(Arguments.of(files, hashComments, schemaDefinition, skipSorting)));
+        }
+      }
+    }
+    return arguments.stream();
+  }
+
+  /**
+   * The wolf schema files reference each other and are merged, all other files are printed alone
+   */
+  private static List<List<File>> groupFixtures() {
+    var files = FIXTURE_DIRECTORY.listFiles((dir, name) -> name.endsWith(".graphqls"));
+    var groups =
+        Arrays.stream(files)
+            .sorted()
+            .collect(
+                groupingBy(
+                    file -> {
+                      var name = file.getName();
+                      if (name.startsWith("wolf")) {
+                        return name.endsWith("_expected.graphqls") ? "wolf_expected" : "wolf";
+                      }
+                      return name;
+                    },
+                    TreeMap::new,
+                    toList()));
+    return List.copyOf(groups.values());
+  }
+
+  @ParameterizedTest
+  @MethodSource("fixturesAndOptions")
+  void bothPrintEnginesShouldPrintSameOutput(
+      List<File> schemaFiles, boolean hashComments, boolean schemaDefinition, boolean skipSorting) {
+    var generatedEngine = createSorterService(hashComments, schemaDefinition, skipSorting, false);
+    var astEngine = createSorterService(hashComments, schemaDefinition, skipSorting, true);
+
+    var generatedSchema = generatedEngine.createMergedSchema(schemaFiles);
+    var astSchema = astEngine.createMergedSchema(schemaFiles);
+
+    for (var schemaFile : schemaFiles) {
+      assertThat(
+          schemaFile.getName(),
+          astEngine.sortSchema(astSchema, schemaFile.getName()),
+          is(generatedEngine.sortSchema(generatedSchema, schemaFile.getName())));
+    }
+  }
+
+  private SorterService createSorterService(
+      boolean hashComments,
+      boolean schemaDefinition,
+      boolean skipSorting,
+      boolean skipSchemaValidation) {
+    var sorterService = new SorterService();
+    sorterService.setup(
+        mock(SortingLogger.class),
+        PluginParameters.builder()
+            .setEncoding("UTF-8")
+            .setGenerationOptions(schemaDefinition, false, hashComments)
+            .setSorting(skipSorting, skipSorting)
+            .setSkipSchemaValidation(skipSchemaValidation)
+            .build(),
+        new ParallelExecutor(1));
+    return sorterService;
+  }
+}
@@ -3,11 +3,19 @@ package sortgraphql;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import sortgraphql.exception.FailureException;
 
 class SorterImplTest {
@@ -51,6 +59,196 @@ class SorterImplTest {
     verifyNoMoreInteractions(log);
   }
 
+  @Test
+  void unchangedFileShouldBeSkippedWhenCacheIsUsed() throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products.graphqls", ".test_bak");
+    var cacheFile = new File("target/cache" + System.currentTimeMillis());
+
+    util.getPluginParameterBuilder().setCache(cacheFile, "1.0");
+    util.sortSchemas();
+    util.sortSchemas();
+
+    assertThat(cacheFile.exists(), is(true));
+
+    var log = util.getLog();
+    verify(log).info("Sorting file " + util.getTestSchemaFile().getAbsolutePath());
+    verify(log)
+        .info(
+            "Saved backup of "
+                + util.getTestSchemaFile().getAbsolutePath()
+                + " to "
+                + util.getBackupSchemaFile().getAbsolutePath());
+    verify(log).info("Saved sorted schema file to " + util.getTestSchemaFile().getAbsolutePath());
+    verify(log)
+        .info(
+            "Schema file "
+                + util.getTestSchemaFile().getAbsolutePath()
+                + " is unchanged since last build, skipping");
+    verifyNoMoreInteractions(log);
+  }
+
+  @Test
+  void changedSortingParametersShouldInvalidateCache() throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products.graphqls", ".test_bak");
+    var cacheFile = new File("target/cache" + System.currentTimeMillis());
+
+    util.getPluginParameterBuilder().setCache(cacheFile, "1.0");
+    util.sortSchemas();
+    util.getPluginParameterBuilder().setGenerationOptions(true, false, true);
+    util.sortSchemas();
+
+    assertThat(util.getTestSchemaContent(), startsWith("schema {\n  query: Query\n}\n"));
+
+    var log = util.getLog();
+    verify(log, times(2)).info("Sorting file " + util.getTestSchemaFile().getAbsolutePath());
+  }
+
+  @Test
+  void verifyOnlyShouldAcceptSortedFile() throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products_expected.graphqls", ".test_bak");
+
+    util.getPluginParameterBuilder().setVerifyOnly(true);
+    util.sortSchemas();
+
+    assertThat(util.getTestSchemaContent(), is(util.getOriginalSchemaContent()));
+    assertThat(util.getBackupSchemaFile().exists(), is(false));
+
+    var log = util.getLog();
+    verify(log).info("Verifying file " + util.getTestSchemaFile().getAbsolutePath());
+    verify(log).info("Schema file is sorted");
+    verifyNoMoreInteractions(log);
+  }
+
+  @Test
+  void verifyOnlyShouldAcceptAllSortedFiles() throws IOException {
+    var sortedFiles =
+        List.of(
+            "basic_products_with_all_directives_expected.graphqls",
+            "basic_products_with_schema_expected.graphqls",
+            "wolfMain_comments_expected.graphqls",
+            "cucumber/descriptions_expected.graphqls",
+            "cucumber/federated_service_no_query_expected.graphqls",
+            "cucumber/federation_expected.graphqls",
+            "cucumber/force_schema_output_expected.graphqls",
+            "cucumber/schema1_account_expected.graphqls",
+            "cucumber/schema1_inventory_expected.graphqls",
+            "cucumber/schema1_product_expected.graphqls",
+            "cucumber/schema1_review_expected.graphqls",
+            "cucumber/wolfAdd_expected.graphqls");
+    for (var sortedFile : sortedFiles) {
+      var util = new TestSchemaUtil(sortedFile, ".test_bak");
+
+      util.getPluginParameterBuilder().setVerifyOnly(true);
+      util.sortSchemas();
+
+      verify(util.getLog()).info("Schema file is sorted");
+    }
+  }
+
+  @Test
+  void verifyOnlyShouldFailForUnsortedFile() throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products.graphqls", ".test_bak");
+
+    util.getPluginParameterBuilder().setVerifyOnly(true);
+    final FailureException thrown = assertThrows(FailureException.class, util::sortSchemas);
+
+    assertThat(
+        thrown.getMessage(),
+        is(
+            "Schema file "
+                + util.getTestSchemaFile().getAbsolutePath()
+                + " is not sorted, @composedGraph should be placed before @graph in schema"));
+    assertThat(util.getTestSchemaContent(), is(util.getOriginalSchemaContent()));
+    assertThat(util.getBackupSchemaFile().exists(), is(false));
+  }
+
+  @Test
+  void verifyOnlyShouldFailForTypeExtension() throws IOException {
+    var util = new TestSchemaUtil("type_extension.graphqls", ".test_bak");
+
+    util.getPluginParameterBuilder().setVerifyOnly(true);
+    final FailureException thrown = assertThrows(FailureException.class, util::sortSchemas);
+
+    assertThat(
+        thrown.getMessage(),
+        is(
+            "Schema file "
+                + util.getTestSchemaFile().getAbsolutePath()
+                + " is not sorted, extension of type 'Product' should be merged into its"
+                + " definition"));
+  }
+
+  @Test
+  void verifyOnlyShouldAcceptFileSortedWithPreservedFormatting() throws IOException {
+    var util = new TestSchemaUtil("cucumber/preserve_formatting.graphqls", ".test_bak");
+
+    util.getPluginParameterBuilder().setPreserveFormatting(true);
+    util.sortSchemas();
+    util.getPluginParameterBuilder().setVerifyOnly(true);
+    util.sortSchemas();
+
+    assertThat(
+        util.getTestSchemaContent(),
+        is(util.getExpectedSchemaContent("cucumber/preserve_formatting_expected.graphqls")));
+    verify(util.getLog()).info("Schema file is sorted");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"copy", "hardLink", "rename"})
+  void backupStrategyShouldKeepOriginalContentInBackupFile(String backupStrategy)
+      throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products.graphqls", ".test_bak");
+
+    util.getPluginParameterBuilder().setBackupStrategy(backupStrategy, null);
+    util.sortSchemas();
+
+    var expectedSchemaContent =
+        util.getExpectedSchemaContent("cucumber/basic_products_expected.graphqls");
+
+    assertThat(util.getTestSchemaContent(), is(expectedSchemaContent));
+    assertThat(util.getBackupSchemaContent(), is(util.getOriginalSchemaContent()));
+  }
+
+  @Test
+  void archiveBackupStrategyShouldAddOriginalContentToArchive() throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products.graphqls", ".test_bak");
+    var archive = new File("target/backup" + System.currentTimeMillis() + ".zip");
+
+    util.getPluginParameterBuilder().setBackupStrategy("archive", archive);
+    util.sortSchemas();
+
+    assertThat(util.getBackupSchemaFile().exists(), is(false));
+    try (var zipFile = new ZipFile(archive)) {
+      var entries = Collections.list(zipFile.entries());
+      assertThat(entries.size(), is(1));
+      assertThat(
+          util.getTestSchemaFile().getAbsolutePath().replace(File.separatorChar, '/'),
+          endsWith(entries.get(0).getName()));
+      var content =
+          new String(zipFile.getInputStream(entries.get(0)).readAllBytes(), StandardCharsets.UTF_8);
+      assertThat(content, is(util.getOriginalSchemaContent()));
+    }
+    verify(util.getLog())
+        .info(
+            "Saved backup of "
+                + util.getTestSchemaFile().getAbsolutePath()
+                + " to "
+                + archive.getAbsolutePath());
+  }
+
+  @Test
+  void unknownBackupStrategyShouldThrowException() throws IOException {
+    var util = new TestSchemaUtil("cucumber/basic_products.graphqls", ".test_bak");
+    var builder = util.getPluginParameterBuilder();
+
+    final FailureException thrown =
+        assertThrows(FailureException.class, () -> builder.setBackupStrategy("move", null));
+
+    assertThat(
+        thrown.getMessage(),
+        is("Unknown backup strategy 'move', expected one of: copy, hardLink, rename, archive"));
+  }
+
   @Test
   void emptyBackupExtensionShouldThrowException() throws IOException {
     var util = new TestSchemaUtil("cucumber/basic_products.graphqls", "");
@@ -131,6 +329,32 @@ class SorterImplTest {
             ".graphqls', errors=[The field type 'Product' is not present when resolving type 'Query' [@2:1], 'topProducts' [@3:5] tried to use an undeclared directive 'resolve', 'Advertisement' [@7:1] tried to use an undeclared directive 'owner', 'Advertisement' [@7:1] tried to use an undeclared directive 'key']"));
   }
 
+  @Test
+  void incompleteSchemaShouldBeSortedWhenValidationIsSkipped() throws IOException {
+    var util = new TestSchemaUtil("incomplete_schema.graphqls", ".test_bak");
+    util.getPluginParameterBuilder().setSkipSchemaValidation(true);
+
+    util.sortSchemas();
+
+    assertThat(
+        util.getTestSchemaContent(),
+        is(
+            """
+            type Query {
+              topProducts(first: Int = 5): [Product] @resolve(graph: "product")
+            }
+
+            type Advertisement
+            @key(fields: "{id}", graph: "advertisement")
+            @owner(graph: "advertisement")
+            {
+              body: String
+              id: ID!
+              title: String
+            }
+            """));
+  }
+
   @Test
   void nonHashCommentsShouldTransformComments() throws IOException {
     var util = new TestSchemaUtil("cucumber/wolfMain.graphqls", ".test_bak");
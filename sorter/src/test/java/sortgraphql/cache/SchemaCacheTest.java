@@ -0,0 +1,74 @@
+package sortgraphql.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import sortgraphql.parameter.PluginParameters;
+
+class SchemaCacheTest {
+  /** Parameters that do not affect the sorted files or the backups */
+  private static final Set<String> NOT_IN_KEY =
+      Set.of(
+          "schemaFiles", "threads", "cacheFile", "pluginVersion", "verifyOnly", "syncSchemaFiles");
+
+  static Stream<String> parameterNames() {
+    return Arrays.stream(PluginParameters.class.getDeclaredFields())
+        .filter(field -> !Modifier.isStatic(field.getModifiers()))
+        .map(Field::getName)
+        .filter(name -> !NOT_IN_KEY.contains(name));
+  }
+
+  @ParameterizedTest
+  @MethodSource("parameterNames")
+  void changedParameterShouldChangeParametersKey(String parameterName) throws Exception {
+    var parameters = createParameters();
+    var key = SchemaCache.parametersKey(parameters);
+
+    var field = PluginParameters.class.getDeclaredField(parameterName);
+    field.setAccessible(true);
+    field.set(parameters, otherValue(field.get(parameters)));
+
+    assertThat(SchemaCache.parametersKey(parameters), not(key));
+  }
+
+  private PluginParameters createParameters() {
+    return PluginParameters.builder()
+        .setSchemaFile(new File("schema.graphqls"), null)
+        .setBackup(true, ".bak")
+        .setBackupStrategy("copy", new File("backup.zip"))
+        .setEncoding("UTF-8")
+        .build();
+  }
+
+  private Object otherValue(Object value) {
+    if (value instanceof Boolean booleanValue) {
+      return !booleanValue;
+    }
+    if (value instanceof Integer intValue) {
+      return intValue + 1;
+    }
+    if (value instanceof String stringValue) {
+      return stringValue + "2";
+    }
+    if (value instanceof File file) {
+      return new File(file.getPath() + "2");
+    }
+    if (value instanceof Enum<?> enumValue) {
+      var constants = enumValue.getDeclaringClass().getEnumConstants();
+      return constants[(enumValue.ordinal() + 1) % constants.length];
+    }
+    if (value instanceof List<?>) {
+      return List.of();
+    }
+    throw new IllegalArgumentException("No other value for the parameter value " + value);
+  }
+}
@@ -0,0 +1,84 @@
+package sortgraphql.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import graphql.Scalars;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchemaElement;
+import graphql.schema.GraphqlTypeComparatorEnvironment;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OptionsTest {
+  private final List<GraphQLArgument> arguments =
+      List.of(argument("c"), argument("a"), argument("b"));
+
+  @Test
+  void comparatorShouldOnlyBeLookedUpOnce() {
+    var options = OptionsBuilder.defaultOptions().build();
+
+    var comparator = options.getComparator(GraphQLObjectType.class, GraphQLFieldDefinition.class);
+
+    assertThat(
+        options.getComparator(GraphQLObjectType.class, GraphQLFieldDefinition.class),
+        sameInstance(comparator));
+  }
+
+  @Test
+  void elementsShouldBeSortedByName() {
+    var options = OptionsBuilder.defaultOptions().build();
+
+    var sorted = options.sort(arguments, GraphQLFieldDefinition.class, GraphQLArgument.class);
+
+    assertThat(names(sorted), contains("a", "b", "c"));
+  }
+
+  @Test
+  void elementsWithOriginalOrderShouldNotBeSorted() {
+    var environment =
+        GraphqlTypeComparatorEnvironment.newEnvironment()
+            .parentType(GraphQLFieldDefinition.class)
+            .elementType(GraphQLArgument.class)
+            .build();
+    var options = OptionsBuilder.defaultOptions().keepOriginalOrder(environment).build();
+
+    assertThat(
+        options.sort(arguments, GraphQLFieldDefinition.class, GraphQLArgument.class),
+        sameInstance(arguments));
+    assertThat(
+        names(options.sort(arguments, GraphQLDirective.class, GraphQLArgument.class)),
+        contains("a", "b", "c"));
+  }
+
+  @Test
+  void elementsShouldNotBeFilteredWithoutPredicate() {
+    var options = OptionsBuilder.defaultOptions().build();
+
+    assertThat(options.filterIncluded(arguments), sameInstance(arguments));
+  }
+
+  @Test
+  void elementsShouldBeFilteredWithPredicate() {
+    var options =
+        OptionsBuilder.defaultOptions()
+            .setIncludeSchemaElement(element -> !((GraphQLArgument) element).getName().equals("a"))
+            .build();
+
+    assertThat(names(options.filterIncluded(arguments)), contains("c", "b"));
+    assertThat(options.isIncluded(argument("a")), is(false));
+  }
+
+  private static GraphQLArgument argument(String name) {
+    return GraphQLArgument.newArgument().name(name).type(Scalars.GraphQLString).build();
+  }
+
+  private static List<String> names(List<? extends GraphQLSchemaElement> elements) {
+    return elements.stream().map(element -> ((GraphQLArgument) element).getName()).toList();
+  }
+}
@@ -0,0 +1,125 @@
+package sortgraphql.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import graphql.Scalars;
+import graphql.introspection.Introspection;
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLNamedSchemaElement;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.InputValueWithState;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class PrintCacheTest {
+  private final PrintCache printCache = new PrintCache();
+  private final AtomicInteger printCount = new AtomicInteger();
+  private final Function<GraphQLDirective, String> directivePrinter =
+      directive -> {
+        printCount.incrementAndGet();
+        return "@" + directive.getName() + printCount.get();
+      };
+
+  @Test
+  void sameAppliedDirectiveShouldOnlyBePrintedOnce() {
+    var first = printCache.getAppliedDirective(keyDirective("id"), directivePrinter);
+    var second = printCache.getAppliedDirective(keyDirective("id"), directivePrinter);
+
+    assertThat(first, is("@key1"));
+    assertThat(second, is("@key1"));
+    assertThat(printCount.get(), is(1));
+  }
+
+  @Test
+  void appliedDirectivesWithDifferentValuesShouldBePrintedSeparately() {
+    var first = printCache.getAppliedDirective(keyDirective("id"), directivePrinter);
+    var second = printCache.getAppliedDirective(keyDirective("name"), directivePrinter);
+
+    assertThat(first, is("@key1"));
+    assertThat(second, is("@key2"));
+  }
+
+  @Test
+  void appliedDirectivesWithNonLiteralValuesShouldNotBeCached() {
+    var directive =
+        GraphQLDirective.newDirective()
+            .name("key")
+            .validLocation(Introspection.DirectiveLocation.OBJECT)
+            .validLocation(Introspection.DirectiveLocation.OBJECT)
+            .argument(
+                GraphQLArgument.newArgument()
+                    .name("fields")
+                    .type(Scalars.GraphQLString)
+                    .valueProgrammatic("id"))
+            .build();
+
+    printCache.getAppliedDirective(directive, directivePrinter);
+    printCache.getAppliedDirective(directive, directivePrinter);
+
+    assertThat(printCount.get(), is(2));
+  }
+
+  @Test
+  void documentationShouldBeExtractedOncePerElement() {
+    var argument = GraphQLArgument.newArgument().name("a").type(Scalars.GraphQLString).build();
+    var otherArgument = GraphQLArgument.newArgument().name("a").type(Scalars.GraphQLString).build();
+    Function<GraphQLNamedSchemaElement, DescriptionAndComments> documentationExtractor =
+        element -> {
+          printCount.incrementAndGet();
+          var documentation = new DescriptionAndComments();
+          documentation.description("First line\nSecond line");
+          return documentation;
+        };
+
+    var documentation = printCache.getDocumentation(argument, documentationExtractor);
+    printCache.getDocumentation(argument, documentationExtractor);
+    printCache.getDocumentation(otherArgument, documentationExtractor);
+
+    assertThat(documentation.getDescriptionLines(), contains("First line", "Second line"));
+    assertThat(printCount.get(), is(2));
+  }
+
+  @Test
+  void sameLiteralOfSameTypeShouldOnlyBePrintedOnce() {
+    BiFunction<InputValueWithState, GraphQLInputType, String> literalPrinter =
+        (value, type) -> {
+          printCount.incrementAndGet();
+          return String.valueOf(((IntValue) value.getValue()).getValue());
+        };
+    var ten = InputValueWithState.newLiteralValue(IntValue.of(10));
+
+    var first = printCache.getLiteral(ten, Scalars.GraphQLInt, literalPrinter);
+    var second =
+        printCache.getLiteral(
+            InputValueWithState.newLiteralValue(IntValue.of(10)),
+            Scalars.GraphQLInt,
+            literalPrinter);
+    printCache.getLiteral(
+        InputValueWithState.newLiteralValue(IntValue.of(20)), Scalars.GraphQLInt, literalPrinter);
+    printCache.getLiteral(ten, GraphQLNonNull.nonNull(Scalars.GraphQLInt), literalPrinter);
+
+    assertThat(first, is("10"));
+    assertThat(second, is("10"));
+    assertThat(printCount.get(), is(3));
+  }
+
+  private static GraphQLDirective keyDirective(String fields) {
+    return GraphQLDirective.newDirective()
+        .name("key")
+        .validLocation(Introspection.DirectiveLocation.OBJECT)
+        .argument(
+            GraphQLArgument.newArgument()
+                .name("fields")
+                .type(Scalars.GraphQLString)
+                .valueLiteral(StringValue.of(fields)))
+        .build();
+  }
+}
@@ -0,0 +1,136 @@
+package sortgraphql.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import graphql.language.AstPrinter;
+import graphql.language.Node;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import sortgraphql.exception.FailureException;
+import sortgraphql.util.ParallelExecutor;
+
+class SchemaParserTest {
+  private static final int MIN_CHUNK_SIZE = 200;
+
+  @Test
+  void chunkedParsingShouldGiveSameDocumentAsWholeFileParsing() {
+    var schemaContent = createLargeSchema();
+    assertThat(
+        new DefinitionSplitter(schemaContent, MIN_CHUNK_SIZE).split().size(), greaterThan(4));
+
+    assertSameDocumentAsWholeFileParsing(schemaContent);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"\r\n", "\r"})
+  void chunkedParsingShouldGiveSameDocumentWithCarriageReturns(String lineEnding) {
+    var schemaContent = createLargeSchema().replace("}\n", "}" + lineEnding);
+
+    assertSameDocumentAsWholeFileParsing(schemaContent);
+  }
+
+  @Test
+  void syntaxErrorInChunkShouldBeReportedAsForWholeFile() {
+    var schemaContent = createLargeSchema() + "type Broken {\n  field: \n}\n" + createLargeSchema();
+    var wholeFileParser = new SchemaParser();
+    var chunkedParser = new SchemaParser(0, new ParallelExecutor(4), MIN_CHUNK_SIZE);
+
+    var expected =
+        assertThrows(
+            FailureException.class,
+            () -> wholeFileParser.parseDocument(schemaContent, "broken.graphqls"));
+    var actual =
+        assertThrows(
+            FailureException.class,
+            () -> chunkedParser.parseDocument(schemaContent, "broken.graphqls"));
+
+    assertThat(actual.getMessage(), is(expected.getMessage()));
+  }
+
+  @Test
+  void schemaWithMoreTokensThanQueryLimitShouldBeParsed() {
+    var schemaContent = createLargeSchema(300);
+
+    var document = new SchemaParser().parseDocument(schemaContent, "large.graphqls");
+
+    assertThat(document.getDefinitions().size(), is(1203));
+  }
+
+  @Test
+  void schemaWithMoreTokensThanConfiguredLimitShouldFail() {
+    var schemaParser = new SchemaParser(10, new ParallelExecutor(1));
+
+    var exception =
+        assertThrows(
+            FailureException.class,
+            () -> schemaParser.parseDocument("type Query { a: Int b: Int c: Int d: Int }", "s"));
+
+    assertThat(exception.getMessage(), startsWith("Cannot parse schema 's', "));
+  }
+
+  private void assertSameDocumentAsWholeFileParsing(String schemaContent) {
+    var wholeDocument = new SchemaParser().parseDocument(schemaContent, "large.graphqls");
+    var chunkedDocument =
+        new SchemaParser(0, new ParallelExecutor(4), MIN_CHUNK_SIZE)
+            .parseDocument(schemaContent, "large.graphqls");
+
+    assertThat(AstPrinter.printAst(chunkedDocument), is(AstPrinter.printAst(wholeDocument)));
+    assertThat(describeNodes(chunkedDocument), is(describeNodes(wholeDocument)));
+  }
+
+  private String createLargeSchema() {
+    return createLargeSchema(20);
+  }
+
+  private String createLargeSchema(int typeCount) {
+    var sb = new StringBuilder("# The schema\nschema { query: Query }\n\n");
+    for (var i = 0; i < typeCount; i++) {
+      sb.append(
+          """
+          # Comment for type %1$d
+          \"""
+          Description with keywords
+          type Fake%1$d {
+          \"""
+          type Type%1$d implements Node @key(fields: "id") {
+            id: ID! # The id
+            "Description with a bracket }"
+            name(filter: String = "{"): String
+          }
+          union Union%1$d =
+            | Type%1$d
+            | Query
+          enum Enum%1$d { A, B }   # Enum comment
+          extend type Query { type%1$d: Type%1$d @doc(text: "åäö 😀") }
+          """
+              .formatted(i));
+    }
+    return sb.append("interface Node { id: ID! }\ntype Query { name: String }\n").toString();
+  }
+
+  /** The type, source location and comments of all nodes, in the order they are visited */
+  private List<String> describeNodes(Node<?> node) {
+    var descriptions = new ArrayList<String>();
+    describeNodes(node, descriptions);
+    return descriptions;
+  }
+
+  private void describeNodes(Node<?> node, List<String> descriptions) {
+    descriptions.add(
+        node.getClass().getSimpleName()
+            + " "
+            + node.getSourceLocation()
+            + " "
+            + node.getComments().stream()
+                .map(comment -> comment.getContent() + " " + comment.getSourceLocation())
+                .toList());
+    node.getChildren().forEach(child -> describeNodes(child, descriptions));
+  }
+}
@@ -0,0 +1,42 @@
+package sortgraphql.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.jupiter.api.Test;
+import sortgraphql.util.ParallelExecutor;
+
+class SchemaPrinterTest {
+
+  @Test
+  void typesPrintedInParallelShouldBeInSameOrderAsSequentialPrint() {
+    var schema = createSchema(50);
+    var options = OptionsBuilder.defaultOptions().setParallelPrintThreshold(10).build();
+
+    var sequential = new SchemaPrinter(options).print(schema);
+    var parallel =
+        new SchemaPrinter(options, new PrintCache(), new ParallelExecutor(4)).print(schema);
+
+    assertThat(parallel, is(sequential));
+  }
+
+  private GraphQLSchema createSchema(int typeCount) {
+    var sb = new StringBuilder("type Query { node: Node }\ninterface Node { id: ID! }\n");
+    for (var i = typeCount; i > 0; i--) {
+      sb.append(
+          """
+          "Type %1$d"
+          type Type%1$d implements Node { id: ID! first(count: Int = 10): [Type%1$d] }
+          input Input%1$d { name: String = "default" }
+          enum Enum%1$d { B A }
+          union Union%1$d = Type%1$d | Query
+          scalar Scalar%1$d
+          """
+              .formatted(i));
+    }
+    var registry = new graphql.schema.idl.SchemaParser().parse(sb.toString());
+    return UnExecutableSchemaGenerator.makeUnExecutableSchema(registry);
+  }
+}
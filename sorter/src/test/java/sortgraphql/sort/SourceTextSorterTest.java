@@ -0,0 +1,27 @@
+package sortgraphql.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SourceTextSorterTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "'type Query {\n  b: Int,\n  a: Int\n}\n', 'type Query {\n  a: Int\n  b: Int,\n}\n'",
+    "'type Query {\n  b: Int,  \n  a: Int,\n}\n', 'type Query {\n  a: Int,\n  b: Int,  \n}\n'",
+    "'type Query {\r\n  b: Int,\r\n  a: Int\r\n}\r\n', 'type Query {\r\n  a: Int\r\n  b: Int,\r\n}\r\n'",
+    "'enum Color { RED, GREEN, BLUE }\n', 'enum Color { BLUE, GREEN, RED }\n'",
+    "'enum Color {\n  RED, GREEN,\n  BLUE\n}\n', 'enum Color {\n  BLUE, GREEN,\n  RED\n}\n'",
+  })
+  void commaAtEndOfLineShouldMoveWithItsSlice(String schemaContent, String expected) {
+    var document = new SchemaParser().parseDocument(schemaContent, "schema.graphqls");
+
+    var sorted = new SourceTextSorter(List.of(document)).sort(schemaContent, document);
+
+    assertThat(sorted, is(expected));
+  }
+}
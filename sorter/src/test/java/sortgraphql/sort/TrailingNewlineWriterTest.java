@@ -0,0 +1,66 @@
+package sortgraphql.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TrailingNewlineWriterTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "'type A\n', 'type A\n'",
+    "'type A\n\n', 'type A\n'",
+    "'type A\n\n\n', 'type A\n\n'",
+    "'type A\n\ntype B\n\n', 'type A\n\ntype B\n'",
+    "'type A', 'type A'",
+    "'\n\n', '\n'",
+    "'', ''",
+  })
+  void lastOfTwoNewlinesShouldBeRemoved(String printed, String expected) throws IOException {
+    var stringWriter = new StringWriter();
+    var writer = new TrailingNewlineWriter(stringWriter);
+
+    // Write one character at a time and in one go, to test all the ways of writing
+    for (var i = 0; i < printed.length(); i++) {
+      writer.write(printed.charAt(i));
+    }
+    writer.write(printed);
+    writer.write(printed.toCharArray());
+    writer.finish();
+
+    assertThat(stringWriter.toString(), is(printed + printed + expected));
+  }
+
+  @Test
+  void exceptionHiddenByPrintWriterShouldBeThrownWhenFinished() {
+    var writer = new TrailingNewlineWriter(new FailingWriter());
+    var printWriter = new PrintWriter(writer);
+
+    printWriter.print("type A");
+    printWriter.flush();
+
+    var exception = assertThrows(IOException.class, writer::finish);
+    assertThat(exception.getMessage(), is("Disk full"));
+  }
+
+  private static class FailingWriter extends Writer {
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      throw new IOException("Disk full");
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+}
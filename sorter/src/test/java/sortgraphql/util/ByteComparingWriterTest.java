@@ -0,0 +1,45 @@
+package sortgraphql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ByteComparingWriterTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "'type Å { a: String }\n', 'type Å { a: String }\n', true",
+    "'type Å { a: String }\n', 'type Ä { a: String }\n', false",
+    "'type Å { a: String }\n', 'type Å { a: String }', false",
+    "'type Å { a: String }', 'type Å { a: String }\n', false",
+    "'', '', true",
+    "'', '\n', false",
+  })
+  void encodedContentShouldBeComparedWithFileBytes(
+      String fileContent, String printedContent, boolean expected) throws IOException {
+    var file = File.createTempFile("comparing", ".graphqls", new File("target"));
+    file.deleteOnExit();
+    Files.writeString(file.toPath(), fileContent.repeat(10));
+
+    // Small buffers, so that the file is read in several parts
+    var writer =
+        new ByteComparingWriter(
+            FileChannel.open(file.toPath(), StandardOpenOption.READ), StandardCharsets.UTF_8, 8);
+    var sameContent = true;
+    try (writer) {
+      writer.write(printedContent.repeat(10));
+    } catch (ByteComparingWriter.ContentMismatchException e) {
+      sameContent = false;
+    }
+
+    assertThat(sameContent && writer.isSameContent(), is(expected));
+  }
+}
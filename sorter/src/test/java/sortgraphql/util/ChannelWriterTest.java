@@ -0,0 +1,58 @@
+package sortgraphql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChannelWriterTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"UTF-8", "UTF-16", "ISO-8859-1"})
+  void contentLargerThanAllBuffersShouldBeEncodedAsWithStringBytes(String encoding)
+      throws IOException {
+    var charset = Charset.forName(encoding);
+    var file = File.createTempFile("channel", ".graphqls", new File("target"));
+    file.deleteOnExit();
+    var content = "type Åäö { emoji: String @doc(text: \"😀\") }\n".repeat(50);
+
+    var channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+    // Small buffers, so that characters and surrogate pairs are split between the buffers
+    try (var writer = new ChannelWriter(channel, charset, true, 3, 16)) {
+      for (var i = 0; i < 100; i++) {
+        writer.write(content.charAt(i));
+      }
+      writer.write(content, 100, 200);
+      writer.flush();
+      writer.write(content.substring(300).toCharArray());
+    }
+
+    assertThat(Files.readAllBytes(file.toPath()), is(content.getBytes(charset)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 16, 48, 100})
+  void contentOfAnyLengthShouldBeWritten(int length) throws IOException {
+    var file = File.createTempFile("channel", ".graphqls", new File("target"));
+    file.deleteOnExit();
+    var content = "x".repeat(length);
+
+    try (var writer =
+        new ChannelWriter(
+            FileChannel.open(file.toPath(), StandardOpenOption.WRITE),
+            StandardCharsets.UTF_8,
+            false)) {
+      writer.write(content);
+    }
+
+    assertThat(Files.readString(file.toPath()), is(content));
+  }
+}
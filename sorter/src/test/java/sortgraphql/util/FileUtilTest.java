@@ -0,0 +1,116 @@
+package sortgraphql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sortgraphql.exception.FailureException;
+import sortgraphql.parameter.PluginParameters;
+
+class FileUtilTest {
+  @TempDir File tempDir;
+
+  @Test
+  void savedSchemaShouldReplaceFileWithoutLeavingTemporaryFiles() throws IOException {
+    var schemaFile = new File(tempDir, "schema.graphqls");
+    Files.writeString(schemaFile.toPath(), "type Query { b: Int a: Int }\n");
+    var fileUtil = new FileUtil();
+    fileUtil.setup(
+        PluginParameters.builder().setEncoding("UTF-8").setSyncSchemaFiles(true).build());
+
+    fileUtil.saveSchema("type Query {\n  a: Int\n  b: Int\n}\n", schemaFile);
+
+    assertThat(
+        Files.readString(schemaFile.toPath(), StandardCharsets.UTF_8),
+        is("type Query {\n  a: Int\n  b: Int\n}\n"));
+    assertThat(tempDir.list(), is(new String[] {"schema.graphqls"}));
+  }
+
+  @Test
+  void savedSchemaShouldCreateMissingDirectories() throws IOException {
+    var schemaFile = new File(tempDir, "sub/schema.graphqls");
+    var fileUtil = new FileUtil();
+    fileUtil.setup(PluginParameters.builder().setEncoding("UTF-8").build());
+
+    fileUtil.saveSchema("type Query {\n  a: Int\n}\n", schemaFile);
+
+    assertThat(Files.readString(schemaFile.toPath()), is("type Query {\n  a: Int\n}\n"));
+  }
+
+  @Test
+  void savedSchemaShouldReplaceTargetOfSymbolicLink() throws IOException {
+    var targetFile = new File(tempDir, "shared/schema.graphqls");
+    Files.createDirectories(targetFile.getParentFile().toPath());
+    Files.writeString(targetFile.toPath(), "type Query { b: Int a: Int }\n");
+    var schemaFile = new File(tempDir, "schema.graphqls");
+    Files.createSymbolicLink(schemaFile.toPath(), targetFile.toPath());
+    var fileUtil = new FileUtil();
+    fileUtil.setup(PluginParameters.builder().setEncoding("UTF-8").build());
+
+    fileUtil.saveSchema("type Query {\n  a: Int\n  b: Int\n}\n", schemaFile);
+
+    assertThat(Files.isSymbolicLink(schemaFile.toPath()), is(true));
+    assertThat(Files.readString(targetFile.toPath()), is("type Query {\n  a: Int\n  b: Int\n}\n"));
+    assertThat(targetFile.getParentFile().list(), is(new String[] {"schema.graphqls"}));
+  }
+
+  @Test
+  void renameBackupStrategyShouldKeepPermissionsOfSchemaFile() throws IOException {
+    assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+    var schemaFile = new File(tempDir, "schema.graphqls");
+    Files.writeString(schemaFile.toPath(), "type Query { b: Int a: Int }\n");
+    var permissions = PosixFilePermissions.fromString("rwxrwx---");
+    Files.setPosixFilePermissions(schemaFile.toPath(), permissions);
+    var fileUtil = createRenameBackupFileUtil();
+
+    fileUtil.backupFile(schemaFile);
+    fileUtil.saveSchema("type Query {\n  a: Int\n  b: Int\n}\n", schemaFile);
+
+    assertThat(Files.getPosixFilePermissions(schemaFile.toPath()), is(permissions));
+    assertThat(
+        Files.readString(new File(tempDir, "schema.graphqls.bak").toPath()),
+        is("type Query { b: Int a: Int }\n"));
+  }
+
+  @Test
+  void failedSaveShouldRenameBackupFileBack() throws IOException {
+    var schemaFile = new File(tempDir, "schema.graphqls");
+    Files.writeString(schemaFile.toPath(), "type Query { b: Int a: Int }\n");
+    var fileUtil = createRenameBackupFileUtil();
+
+    fileUtil.backupFile(schemaFile);
+    var thrown =
+        assertThrows(
+            FailureException.class,
+            () ->
+                fileUtil.saveSchema(
+                    writer -> {
+                      throw new IOException("Gurka");
+                    },
+                    schemaFile));
+
+    assertThat(thrown.getMessage(), is("Could not save sorted schema file: " + schemaFile));
+    assertThat(Files.readString(schemaFile.toPath()), is("type Query { b: Int a: Int }\n"));
+    assertThat(tempDir.list(), is(new String[] {"schema.graphqls"}));
+  }
+
+  private FileUtil createRenameBackupFileUtil() {
+    var fileUtil = new FileUtil();
+    fileUtil.setup(
+        PluginParameters.builder()
+            .setEncoding("UTF-8")
+            .setBackup(true, ".bak")
+            .setBackupStrategy("rename", null)
+            .build());
+    return fileUtil;
+  }
+}
@@ -0,0 +1,88 @@
+package sortgraphql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.oneOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ParallelExecutorTest {
+
+  @Test
+  void resultsShouldBeHandledInOriginalOrder() {
+    var items = IntStream.range(0, 200).boxed().toList();
+    var results = new ArrayList<Integer>();
+
+    new ParallelExecutor(4).forEachOrdered(items, item -> item * 2, results::add, 8);
+
+    assertThat(results, is(items.stream().map(item -> item * 2).toList()));
+  }
+
+  @Test
+  void noMoreThanMaxPendingTasksShouldBeStartedBeforeTheirResultsAreHandled() {
+    var items = IntStream.range(0, 200).boxed().toList();
+    var started = new AtomicInteger();
+    var maxPending = new AtomicInteger();
+    var handled = new ArrayList<Integer>();
+
+    new ParallelExecutor(4)
+        .forEachOrdered(
+            items,
+            item -> {
+              var pending = started.incrementAndGet() - handledCount(handled);
+              maxPending.accumulateAndGet(pending, Math::max);
+              return item;
+            },
+            item -> {
+              synchronized (handled) {
+                handled.add(item);
+              }
+            },
+            6);
+
+    assertThat(handled, is(items));
+    assertThat(maxPending.get(), lessThanOrEqualTo(6));
+  }
+
+  @Test
+  void allTasksShouldRunOnOnePoolUntilTheExecutorIsClosed() {
+    var items = IntStream.range(0, 100).boxed().toList();
+    var threadNames = ConcurrentHashMap.<String>newKeySet();
+
+    try (var executor = new ParallelExecutor(3)) {
+      for (var i = 0; i < 5; i++) {
+        executor.map(items, item -> threadNames.add(Thread.currentThread().getName()));
+      }
+    }
+
+    assertThat(
+        threadNames, everyItem(is(oneOf("sortgraphql-1", "sortgraphql-2", "sortgraphql-3"))));
+  }
+
+  @Test
+  void nestedTasksShouldBeExecutedByThePoolThread() {
+    var items = IntStream.range(0, 20).boxed().toList();
+
+    try (var executor = new ParallelExecutor(2)) {
+      var sums =
+          executor.map(
+              items,
+              item -> executor.map(items, nested -> item * nested).stream().mapToInt(i -> i).sum());
+
+      assertThat(sums, is(items.stream().map(item -> item * 190).toList()));
+    }
+  }
+
+  private static int handledCount(List<Integer> handled) {
+    synchronized (handled) {
+      return handled.size();
+    }
+  }
+}
@@ -26,6 +26,24 @@ Feature: Sorting GraphQL Schema files
     Then schema file "wolfMain.graphqls" will be "wolfMain_expected.graphqls"
     Then schema file "wolfAdd.graphqls" will be "wolfAdd_expected.graphqls"
 
+  Scenario: sorting multiple files with several threads
+    Given sorting threads is 4
+    Given schema files
+      | wolfMain.graphqls |
+      | wolfAdd.graphqls  |
+    When sorting
+    Then schema file "wolfMain.graphqls" will be "wolfMain_expected.graphqls"
+    Then schema file "wolfAdd.graphqls" will be "wolfAdd_expected.graphqls"
+
+  Scenario: sorting multiple files with several threads (reverse input order)
+    Given sorting threads is 4
+    Given schema files
+      | wolfAdd.graphqls  |
+      | wolfMain.graphqls |
+    When sorting
+    Then schema file "wolfMain.graphqls" will be "wolfMain_expected.graphqls"
+    Then schema file "wolfAdd.graphqls" will be "wolfAdd_expected.graphqls"
+
   Scenario: base federation specification
     Given schema file "federated_service_no_query.graphqls"
     When sorting
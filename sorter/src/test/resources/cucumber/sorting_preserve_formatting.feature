@@ -0,0 +1,23 @@
+Feature: Sorting GraphQL Schema files while keeping the original formatting
+
+  Scenario: formatting, comments and directive order are kept
+    Given preserve formatting is true
+    Given schema file "preserve_formatting.graphqls"
+    When sorting
+    Then schema file "preserve_formatting.graphqls" will be "preserve_formatting_expected.graphqls"
+
+  Scenario: formatting is kept without schema validation
+    Given preserve formatting is true
+    Given skip schema validation is true
+    Given schema file "preserve_formatting.graphqls"
+    When sorting
+    Then schema file "preserve_formatting.graphqls" will be "preserve_formatting_expected.graphqls"
+
+  Scenario: sorting multiple files
+    Given preserve formatting is true
+    Given schema files
+      | wolfMain_expected.graphqls |
+      | wolfAdd_expected.graphqls  |
+    When sorting
+    Then schema file "wolfMain_expected.graphqls" will be "wolfMain_expected.graphqls"
+    Then schema file "wolfAdd_expected.graphqls" will be "wolfAdd_expected.graphqls"
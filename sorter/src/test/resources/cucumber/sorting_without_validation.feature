@@ -0,0 +1,49 @@
+Feature: Sorting GraphQL Schema files without schema validation
+
+  Scenario: basic query schema files
+    Given skip schema validation is true
+    Given schema file "basic_products.graphqls"
+    When sorting
+    Then schema file "basic_products.graphqls" will be "basic_products_expected.graphqls"
+
+  Scenario: descriptions
+    Given skip schema validation is true
+    Given descriptions as hash comments is false
+    Given schema file "descriptions.graphqls"
+    When sorting
+    Then schema file "descriptions.graphqls" will be "descriptions_expected.graphqls"
+
+  Scenario: base federation specification
+    Given skip schema validation is true
+    Given schema file "federated_service_no_query.graphqls"
+    When sorting
+    Then schema file "federated_service_no_query.graphqls" will be "federated_service_no_query_expected.graphqls"
+
+  Scenario: schema definition output
+    Given skip schema validation is true
+    Given schema file "force_schema_output.graphqls"
+    When sorting
+    Then schema file "force_schema_output.graphqls" will be "force_schema_output_expected.graphqls"
+
+  Scenario: sorting multiple files
+    Given skip schema validation is true
+    Given schema files
+      | wolfMain.graphqls |
+      | wolfAdd.graphqls  |
+    When sorting
+    Then schema file "wolfMain.graphqls" will be "wolfMain_expected.graphqls"
+    Then schema file "wolfAdd.graphqls" will be "wolfAdd_expected.graphqls"
+
+  Scenario: sorting individual files
+    Given skip schema validation is true
+    Given sort individual schemas is true
+    Given schema files
+      | schema1_account.graphqls |
+      | schema1_inventory.graphqls |
+      | schema1_product.graphqls |
+      | schema1_review.graphqls |
+    When sorting
+    Then schema file "schema1_account.graphqls" will be "schema1_account_expected.graphqls"
+    Then schema file "schema1_inventory.graphqls" will be "schema1_inventory_expected.graphqls"
+    Then schema file "schema1_product.graphqls" will be "schema1_product_expected.graphqls"
+    Then schema file "schema1_review.graphqls" will be "schema1_review_expected.graphqls"